@@ -0,0 +1,296 @@
+package com.mashit.employeemanagementsystem.calendar;
+
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory calendar of pending and approved leave, indexed by date range over
+ * all employees, per employee and per department. Kept in step with the
+ * database after each commit; rejected or cancelled requests drop out. While it
+ * is rebuilt from a snapshot, changes committed meanwhile are held back and
+ * applied after the snapshot, so an older snapshot row never overwrites them.
+ */
+@Component
+@Slf4j
+public class LeaveCalendar {
+
+    private static final Comparator<LeaveEntry> CALENDAR_ORDER =
+            Comparator.comparing(LeaveEntry::startDate).thenComparing(LeaveEntry::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LeaveEntry> entries = new HashMap<>();
+    private final IntervalTree<LeaveEntry> all = new IntervalTree<>();
+    private final Map<Long, IntervalTree<LeaveEntry>> byEmployee = new HashMap<>();
+    private final Map<String, IntervalTree<LeaveEntry>> byDepartment = new HashMap<>();
+    // Changes made during a rebuild, null when none is running
+    private List<Runnable> heldBack;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            heldBack = null;
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the calendar for {@link #load}; call it before the snapshot is read
+     */
+    public void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            heldBack = new ArrayList<>();
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a snapshot row during a rebuild
+     */
+    public void load(LeaveEntry entry) {
+        lock.writeLock().lock();
+        try {
+            putOrRemoveLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the changes made since {@link #startRebuild} over the snapshot and serves queries again
+     */
+    public void finishRebuild() {
+        int applied;
+        lock.writeLock().lock();
+        try {
+            applied = heldBack != null ? heldBack.size() : 0;
+            if (heldBack != null) {
+                heldBack.forEach(Runnable::run);
+            }
+            heldBack = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Leave calendar ready: {} active requests, {} changes applied after the snapshot", size(), applied);
+    }
+
+    /**
+     * Adds or replaces a request; one that is no longer pending or approved is removed
+     */
+    public void put(LeaveEntry entry) {
+        apply(() -> putOrRemoveLocked(entry));
+    }
+
+    public void remove(Long id) {
+        apply(() -> removeLocked(id));
+    }
+
+    /**
+     * Re-files an employee's requests after their department changes
+     */
+    public void moveEmployee(Long employeeId, String department) {
+        apply(() -> {
+            for (LeaveEntry entry : employeeEntries(employeeId)) {
+                if (!Objects.equals(entry.department(), department)) {
+                    removeLocked(entry.id());
+                    putLocked(entry.withDepartment(department));
+                }
+            }
+        });
+    }
+
+    public void removeEmployee(Long employeeId) {
+        apply(() -> {
+            for (LeaveEntry entry : employeeEntries(employeeId)) {
+                removeLocked(entry.id());
+            }
+        });
+    }
+
+    /**
+     * Requests overlapping [from, to], optionally limited to one employee or department
+     */
+    public List<LeaveEntry> overlapping(LocalDate from, LocalDate to, Long employeeId, String department) {
+        lock.readLock().lock();
+        try {
+            IntervalTree<LeaveEntry> tree = treeFor(employeeId, department);
+            if (tree == null) {
+                return List.of();
+            }
+            List<LeaveEntry> result = new ArrayList<>();
+            tree.forEachOverlapping(from.toEpochDay(), to.toEpochDay(), entry -> {
+                if (department == null || department.equals(entry.department())) {
+                    result.add(entry);
+                }
+            });
+            result.sort(CALENDAR_ORDER);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The employee's own requests that overlap [from, to], ignoring excludeId
+     */
+    public List<LeaveEntry> conflicts(Long employeeId, LocalDate from, LocalDate to, Long excludeId) {
+        lock.readLock().lock();
+        try {
+            IntervalTree<LeaveEntry> tree = byEmployee.get(employeeId);
+            if (tree == null) {
+                return List.of();
+            }
+            List<LeaveEntry> result = new ArrayList<>();
+            tree.forEachOverlapping(from.toEpochDay(), to.toEpochDay(), entry -> {
+                if (!entry.id().equals(excludeId)) {
+                    result.add(entry);
+                }
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct employees with leave covering the date, split by status
+     */
+    public Map<LeaveStatus, Integer> headcount(LocalDate date, String department) {
+        lock.readLock().lock();
+        try {
+            IntervalTree<LeaveEntry> tree = treeFor(null, department);
+            Map<LeaveStatus, Set<Long>> employees = new EnumMap<>(LeaveStatus.class);
+            if (tree != null) {
+                long day = date.toEpochDay();
+                tree.forEachOverlapping(day, day, entry ->
+                        employees.computeIfAbsent(entry.status(), s -> new HashSet<>()).add(entry.employeeId()));
+            }
+            Map<LeaveStatus, Integer> counts = new EnumMap<>(LeaveStatus.class);
+            for (LeaveStatus status : LeaveStatus.ACTIVE) {
+                counts.put(status, employees.getOrDefault(status, Set.of()).size());
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Runs the change now, or once the snapshot is loaded when a rebuild is running
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (heldBack != null) {
+                heldBack.add(change);
+            } else {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clearLocked() {
+        entries.clear();
+        byEmployee.clear();
+        byDepartment.clear();
+        all.clear();
+    }
+
+    private void putOrRemoveLocked(LeaveEntry entry) {
+        removeLocked(entry.id());
+        if (entry.status().isActive()) {
+            putLocked(entry);
+        }
+    }
+
+    private IntervalTree<LeaveEntry> treeFor(Long employeeId, String department) {
+        if (employeeId != null) {
+            return byEmployee.get(employeeId);
+        }
+        if (department != null) {
+            return byDepartment.get(department);
+        }
+        return all;
+    }
+
+    private List<LeaveEntry> employeeEntries(Long employeeId) {
+        IntervalTree<LeaveEntry> tree = byEmployee.get(employeeId);
+        if (tree == null) {
+            return List.of();
+        }
+        List<LeaveEntry> result = new ArrayList<>();
+        tree.forEachOverlapping(Long.MIN_VALUE, Long.MAX_VALUE, result::add);
+        return result;
+    }
+
+    private void putLocked(LeaveEntry entry) {
+        entries.put(entry.id(), entry);
+        insert(all, entry);
+        insert(byEmployee.computeIfAbsent(entry.employeeId(), id -> new IntervalTree<>()), entry);
+        if (entry.department() != null) {
+            insert(byDepartment.computeIfAbsent(entry.department(), d -> new IntervalTree<>()), entry);
+        }
+    }
+
+    private void removeLocked(Long id) {
+        LeaveEntry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        long start = entry.startDate().toEpochDay();
+        all.remove(start, id);
+        removeFrom(byEmployee, entry.employeeId(), start, id);
+        if (entry.department() != null) {
+            removeFrom(byDepartment, entry.department(), start, id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, IntervalTree<LeaveEntry>> trees, K key, long start, long id) {
+        IntervalTree<LeaveEntry> tree = trees.get(key);
+        if (tree != null) {
+            tree.remove(start, id);
+            if (tree.isEmpty()) {
+                trees.remove(key);
+            }
+        }
+    }
+
+    private static void insert(IntervalTree<LeaveEntry> tree, LeaveEntry entry) {
+        tree.insert(entry.startDate().toEpochDay(), entry.endDate().toEpochDay(), entry.id(), entry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.mashit.employeemanagementsystem.calendar;
+
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A pending or approved leave request as held by the {@link LeaveCalendar}
+ */
+public record LeaveEntry(Long id, Long employeeId, String department, LocalDate startDate, LocalDate endDate,
+                         LeaveStatus status) {
+
+    public LeaveEntry withDepartment(String newDepartment) {
+        return new LeaveEntry(id, employeeId, newDepartment, startDate, endDate, status);
+    }
+}
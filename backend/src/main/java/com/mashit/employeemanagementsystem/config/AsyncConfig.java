@@ -0,0 +1,16 @@
+package com.mashit.employeemanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Async and @Scheduled on Boot's task executor and scheduler. With
+ * spring.threads.virtual.enabled (the "virtual" profile) both run on virtual
+ * threads, like the Tomcat request executor.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
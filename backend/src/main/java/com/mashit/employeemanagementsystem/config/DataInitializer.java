@@ -2,8 +2,14 @@ package com.mashit.employeemanagementsystem.config;
 
 import com.mashit.employeemanagementsystem.entity.Role;
 import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import com.mashit.employeemanagementsystem.security.JwtKeyRing;
+import com.mashit.employeemanagementsystem.security.TokenRevocationRegistry;
+import com.mashit.employeemanagementsystem.service.EmployeeService;
+import com.mashit.employeemanagementsystem.service.LeaveRequestService;
+import com.mashit.employeemanagementsystem.service.RoleRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -13,10 +19,26 @@ import org.springframework.stereotype.Component;
 public class DataInitializer implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final JwtKeyRing jwtKeyRing;
+    private final EmployeeService employeeService;
+    private final LeaveRequestService leaveRequestService;
+    private final RoleRegistry roleRegistry;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     public void run(String... args) {
         initializeRoles();
+        roleRegistry.reload();
+        if (stateless) {
+            // Only stateless tokens are checked against it
+            tokenRevocationRegistry.load();
+        }
+        jwtKeyRing.load();
+        employeeService.rebuildSearchIndex();
+        leaveRequestService.rebuildCalendar();
     }
 
     private void initializeRoles() {
@@ -0,0 +1,160 @@
+package com.mashit.employeemanagementsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many threads may hold a database connection at once. With virtual
+ * threads the request executor is effectively unbounded, so without this every
+ * request would queue inside the Hikari pool. Callers wait on a fair semaphore
+ * for at most app.db.acquire-timeout-ms and then fail fast, which is answered
+ * with a 503 instead of a request that hangs for the pool's full timeout.
+ * <p>
+ * Off unless app.db.limiter.enabled is set, since it changes how an overloaded
+ * instance fails: a 503 after the acquire timeout instead of Hikari's
+ * connection-timeout wait. Streaming downloads keep their connection until the
+ * client has read everything, so they draw from their own
+ * app.db.streaming-max-concurrency permits and cannot starve other requests.
+ */
+@Component
+@Slf4j
+public class DatabaseConcurrencyLimiter implements BeanPostProcessor, Ordered {
+
+    private static final ThreadLocal<Boolean> STREAMING = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final int streamingMaxConcurrency;
+    private final long acquireTimeoutMs;
+
+    public DatabaseConcurrencyLimiter(@Value("${app.db.limiter.enabled:false}") boolean enabled,
+                                      @Value("${app.db.max-concurrency:8}") int maxConcurrency,
+                                      @Value("${app.db.streaming-max-concurrency:2}") int streamingMaxConcurrency,
+                                      @Value("${app.db.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.enabled = enabled;
+        this.maxConcurrency = maxConcurrency;
+        this.streamingMaxConcurrency = streamingMaxConcurrency;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * Marks a response body as streaming work, so the connections it opens use
+     * the streaming permits. A no-op while the limiter is disabled.
+     */
+    public static StreamingResponseBody streaming(StreamingResponseBody body) {
+        return out -> {
+            STREAMING.set(Boolean.TRUE);
+            try {
+                body.writeTo(out);
+            } finally {
+                STREAMING.remove();
+            }
+        };
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        log.info("Limiting concurrent database connections to {}, plus {} for streaming downloads",
+                maxConcurrency, streamingMaxConcurrency);
+        return new LimitedDataSource(dataSource, new Semaphore(maxConcurrency, true),
+                new Semaphore(streamingMaxConcurrency, true), acquireTimeoutMs);
+    }
+
+    /**
+     * Wrap the pool itself, before any other DataSource decoration
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    static class LimitedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final Semaphore streamingPermits;
+        private final long acquireTimeoutMs;
+
+        LimitedDataSource(DataSource target, Semaphore permits, Semaphore streamingPermits, long acquireTimeoutMs) {
+            super(target);
+            this.permits = permits;
+            this.streamingPermits = streamingPermits;
+            this.acquireTimeoutMs = acquireTimeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Semaphore permits = acquire();
+            try {
+                return releasingOnClose(super.getConnection(), permits);
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Semaphore permits = acquire();
+            try {
+                return releasingOnClose(super.getConnection(username, password), permits);
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        // Takes a permit from the pool matching the calling thread's work and returns that pool
+        private Semaphore acquire() throws SQLException {
+            Semaphore permits = STREAMING.get() != null ? streamingPermits : this.permits;
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException(
+                            "Timed out after " + acquireTimeoutMs + "ms waiting for a database connection");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+            }
+            return permits;
+        }
+
+        private Connection releasingOnClose(Connection connection, Semaphore permits) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            } finally {
+                                permits.release();
+                            }
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.mashit.employeemanagementsystem.config;
 
+import com.mashit.employeemanagementsystem.monitoring.TimedPasswordEncoder;
 import com.mashit.employeemanagementsystem.security.CustomUserDetailsService;
 import com.mashit.employeemanagementsystem.security.JwtAuthenticationFilter;
+import com.mashit.employeemanagementsystem.security.OffloadedPasswordEncoder;
+import com.mashit.employeemanagementsystem.security.PasswordEncoderFactory;
+import com.mashit.employeemanagementsystem.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -13,9 +19,9 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -31,6 +37,9 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final MeterRegistry meterRegistry;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncoderFactory passwordEncoderFactory;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -43,6 +52,9 @@ public class SecurityConfig {
                                 .requestMatchers("/api/auth/**").permitAll()
                                 .requestMatchers("/api/test/**").permitAll()  // For testing password hash
 
+                                // Key management stays admin-only while everything else is open
+                                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
                                 // TEMPORARY: Allow all endpoints for testing
                                 // TODO: Remove this line after testing and uncomment the role-based rules below
                                 .anyRequest().permitAll()
@@ -59,6 +71,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                         */
                 )
+                // No login form, a request without a valid token gets 401 rather than 403
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
@@ -70,6 +85,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(
+                Arrays.asList("X-Next-Cursor", "Location", "Server-Timing", "ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -81,6 +98,8 @@ public class SecurityConfig {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes the password on a successful login when its stored hash is outdated
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -91,6 +110,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Hash time is measured on the hashing pool, queue wait by the executor itself
+        PasswordEncoder encoder = new TimedPasswordEncoder(passwordEncoderFactory.create(), meterRegistry);
+        return new OffloadedPasswordEncoder(encoder, passwordHashingExecutor);
     }
 }
\ No newline at end of file
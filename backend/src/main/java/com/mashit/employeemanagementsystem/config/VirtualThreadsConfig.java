@@ -0,0 +1,23 @@
+package com.mashit.employeemanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Spring Boot silently ignores spring.threads.virtual.enabled below Java 21, so
+ * the "virtual" profile refuses to start there rather than run on platform threads.
+ */
+@Configuration
+@Profile("virtual")
+public class VirtualThreadsConfig {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("The virtual profile needs Java " + MIN_JAVA_VERSION
+                    + " or later for virtual threads, this is Java " + javaVersion);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.dto.CacheStatsResponse;
+import com.mashit.employeemanagementsystem.security.AuthenticatedPrincipalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/auth-cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:4200")
+public class AuthCacheController {
+
+    private final AuthenticatedPrincipalCache principalCache;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        return ResponseEntity.ok(principalCache.getStats());
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> clear() {
+        principalCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
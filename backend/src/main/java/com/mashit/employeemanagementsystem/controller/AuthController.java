@@ -3,7 +3,9 @@ package com.mashit.employeemanagementsystem.controller;
 import com.mashit.employeemanagementsystem.dto.JwtResponse;
 import com.mashit.employeemanagementsystem.dto.LoginRequest;
 import com.mashit.employeemanagementsystem.dto.RegisterRequest;
+import com.mashit.employeemanagementsystem.security.LoginRateLimiter;
 import com.mashit.employeemanagementsystem.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/register")
     public ResponseEntity<JwtResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -25,7 +28,9 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest request,
+                                             HttpServletRequest httpRequest) {
+        loginRateLimiter.check(request.getUsername(), httpRequest.getRemoteAddr());
         JwtResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,64 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.outbox.ChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental sync for downstream systems: take the cursor, download everything
+ * once, then follow the changes after that cursor
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:4200")
+public class ChangeController {
+
+    private final ChangeFeed changeFeed;
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Map<String, Long>> getCursor() {
+        return ResponseEntity.ok(Map.of("cursor", changeFeed.latestSequence()));
+    }
+
+    /**
+     * Long poll: with wait (seconds) and nothing after the cursor, the response is
+     * held until a change is published or the wait runs out
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public CompletableFuture<ResponseEntity<List<ChangeEvent>>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + ChangeFeed.DEFAULT_LIMIT) int limit,
+            @RequestParam(defaultValue = "0") int wait) {
+        return changeFeed.poll(since, limit, TimeUnit.SECONDS.toMillis(wait)).thenApply(events -> {
+            long next = events.isEmpty() ? since : events.get(events.size() - 1).getSequence();
+            return ResponseEntity.ok()
+                    .header(EmployeeController.NEXT_CURSOR_HEADER, String.valueOf(next))
+                    .body(events);
+        });
+    }
+
+    /**
+     * Server-sent events, each with the sequence as its id. A reconnecting client's
+     * Last-Event-ID takes precedence over since; with neither, only new changes are sent.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long cursor = lastEventId != null ? lastEventId : since != null ? since : changeFeed.latestSequence();
+        return changeFeed.subscribe(cursor);
+    }
+}
@@ -1,14 +1,37 @@
 package com.mashit.employeemanagementsystem.controller;
 
+import com.mashit.employeemanagementsystem.config.DatabaseConcurrencyLimiter;
+import com.mashit.employeemanagementsystem.dto.CursorPage;
+import com.mashit.employeemanagementsystem.dto.EmployeeChange;
+import com.mashit.employeemanagementsystem.dto.EmployeeView;
+import com.mashit.employeemanagementsystem.dto.ImportResult;
 import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.export.ExportFormat;
+import com.mashit.employeemanagementsystem.export.ExportTable;
+import com.mashit.employeemanagementsystem.export.TableExporter;
+import com.mashit.employeemanagementsystem.service.EmployeeImportService;
 import com.mashit.employeemanagementsystem.service.EmployeeService;
+import com.mashit.employeemanagementsystem.util.ETags;
+import com.mashit.employeemanagementsystem.util.JsonStreams;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,33 +40,104 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:4200")
 public class EmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final TableExporter tableExporter;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int size) {
+        CursorPage<EmployeeView> page = employeeService.getEmployeePage(after, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public void streamEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        // Holds its connection until the client has read every row
+        DatabaseConcurrencyLimiter.streaming(this::writeEmployees).writeTo(response.getOutputStream());
+    }
+
+    private void writeEmployees(OutputStream responseStream) throws IOException {
+        OutputStream out = new BufferedOutputStream(responseStream);
+        try {
+            employeeService.streamEmployeeViews(employee -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(employee));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    /**
+     * Every employee as JSON, CSV or an Arrow IPC stream, written while the rows are read
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "json") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = exportFormat == ExportFormat.JSON
+                ? JsonStreams.array(objectMapper, employeeService::streamEmployeeViews)
+                : DatabaseConcurrencyLimiter.streaming(
+                        out -> tableExporter.export(ExportTable.EMPLOYEES, exportFormat, out));
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.contentDisposition(ExportTable.EMPLOYEES))
+                .body(body);
+    }
+
+    /**
+     * Delta sync: rows changed after the (since, afterId) watermark, deleted
+     * employees as tombstones. Start with a since before the first download.
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<List<EmployeeChange>> getEmployeeChanges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int size) {
+        List<EmployeeChange> changes = employeeService.getEmployeeChanges(since, afterId, size);
+        return ResponseEntity.ok(changes);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
+        // Matching If-None-Match revalidations get a bodiless 304
         Employee employee = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(employee);
+        return ResponseEntity.ok().eTag(ETags.of(employee)).body(employee);
     }
 
     @GetMapping("/email/{email}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Employee> getEmployeeByEmail(@PathVariable String email) {
         Employee employee = employeeService.getEmployeeByEmail(email);
-        return ResponseEntity.ok(employee);
+        return ResponseEntity.ok().eTag(ETags.of(employee)).body(employee);
     }
 
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<Employee>> searchEmployeesByName(@RequestParam String name) {
-        List<Employee> employees = employeeService.searchEmployeesByName(name);
+    public ResponseEntity<List<EmployeeView>> searchEmployeesByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_SEARCH_LIMIT) int limit) {
+        List<EmployeeView> employees = employeeService.searchEmployees(name, limit);
         return ResponseEntity.ok(employees);
     }
 
@@ -54,18 +148,36 @@ public class EmployeeController {
         return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResult> importEmployeesCsv(InputStream body) {
+        ImportResult result = employeeImportService.importCsv(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResult> importEmployeesJson(InputStream body) {
+        ImportResult result = employeeImportService.importJson(body);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Employee> updateEmployee(@PathVariable Long id,
-                                                   @Valid @RequestBody Employee employee) {
-        Employee updatedEmployee = employeeService.updateEmployee(id, employee);
-        return ResponseEntity.ok(updatedEmployee);
+                                                   @Valid @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
+        Employee updatedEmployee = employeeService.updateEmployee(id, employee, ETags.ifMatchVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedEmployee)).body(updatedEmployee);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
-        employeeService.deleteEmployee(id);
+    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch) {
+        employeeService.deleteEmployee(id, ETags.ifMatchVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.dto.ImportJobResponse;
+import com.mashit.employeemanagementsystem.entity.ImportFormat;
+import com.mashit.employeemanagementsystem.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:4200")
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping(value = "/employee-import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponse> submitEmployeeImportCsv(InputStream body, Principal principal) {
+        return submit(body, ImportFormat.CSV, principal);
+    }
+
+    @PostMapping(value = "/employee-import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponse> submitEmployeeImportJson(InputStream body, Principal principal) {
+        return submit(body, ImportFormat.JSON, principal);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ImportJobResponse>> getRecentJobs() {
+        return ResponseEntity.ok(importJobService.getRecentJobs());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportJobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(importJobService.getJob(id));
+    }
+
+    private ResponseEntity<ImportJobResponse> submit(InputStream body, ImportFormat format, Principal principal) {
+        String submittedBy = principal != null ? principal.getName() : null;
+        ImportJobResponse job = importJobService.submitEmployeeImport(body, format, submittedBy);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+}
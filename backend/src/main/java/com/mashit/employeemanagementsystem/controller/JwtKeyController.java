@@ -0,0 +1,50 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.security.JwtKeyRing;
+import com.mashit.employeemanagementsystem.service.JwtKeyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/jwt-keys")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:4200")
+public class JwtKeyController {
+
+    private final JwtKeyRing keyRing;
+    private final JwtKeyService jwtKeyService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getKeys() {
+        return ResponseEntity.ok(Map.of(
+                "activeKeyId", keyRing.getActiveKeyId(),
+                "keyIds", keyRing.getKeyIds()
+        ));
+    }
+
+    @PostMapping("/rotate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rotate() {
+        String keyId = jwtKeyService.rotate();
+        return ResponseEntity.ok(Map.of("activeKeyId", keyId));
+    }
+
+    @PostMapping("/{keyId}/activate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> activate(@PathVariable String keyId) {
+        jwtKeyService.activate(keyId);
+        return ResponseEntity.ok(Map.of("activeKeyId", keyId));
+    }
+
+    @DeleteMapping("/{keyId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> retire(@PathVariable String keyId) {
+        jwtKeyService.retire(keyId);
+        return ResponseEntity.noContent().build();
+    }
+}
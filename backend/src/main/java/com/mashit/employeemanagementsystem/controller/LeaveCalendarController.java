@@ -0,0 +1,53 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.calendar.LeaveEntry;
+import com.mashit.employeemanagementsystem.dto.LeaveHeadcount;
+import com.mashit.employeemanagementsystem.service.LeaveRequestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leave-calendar")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:4200")
+public class LeaveCalendarController {
+
+    private final LeaveRequestService leaveRequestService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<LeaveEntry>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String department) {
+        List<LeaveEntry> entries = leaveRequestService.getCalendar(from, to, employeeId, department);
+        return ResponseEntity.ok(entries);
+    }
+
+    @GetMapping("/overlaps")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<List<LeaveEntry>> getOverlaps(
+            @RequestParam Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long excludeId) {
+        List<LeaveEntry> conflicts = leaveRequestService.findConflicts(employeeId, startDate, endDate, excludeId);
+        return ResponseEntity.ok(conflicts);
+    }
+
+    @GetMapping("/headcount")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<LeaveHeadcount> getHeadcount(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String department) {
+        LeaveHeadcount headcount = leaveRequestService.getHeadcount(date, department);
+        return ResponseEntity.ok(headcount);
+    }
+}
@@ -1,14 +1,35 @@
 package com.mashit.employeemanagementsystem.controller;
 
+import com.mashit.employeemanagementsystem.config.DatabaseConcurrencyLimiter;
+import com.mashit.employeemanagementsystem.dto.BulkStatusRequest;
+import com.mashit.employeemanagementsystem.dto.BulkStatusResult;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestFilter;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestPage;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestView;
 import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import com.mashit.employeemanagementsystem.export.ExportFormat;
+import com.mashit.employeemanagementsystem.export.ExportTable;
+import com.mashit.employeemanagementsystem.export.TableExporter;
+import com.mashit.employeemanagementsystem.security.CustomUserDetails;
 import com.mashit.employeemanagementsystem.service.LeaveRequestService;
+import com.mashit.employeemanagementsystem.util.ETags;
+import com.mashit.employeemanagementsystem.util.JsonStreams;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -18,36 +39,87 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:4200")
 public class LeaveRequestController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final LeaveRequestService leaveRequestService;
+    private final TableExporter tableExporter;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<LeaveRequest>> getAllLeaveRequests() {
-        List<LeaveRequest> leaveRequests = leaveRequestService.getAllLeaveRequests();
-        return ResponseEntity.ok(leaveRequests);
+    public ResponseEntity<List<LeaveRequestView>> getAllLeaveRequests(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = LeaveRequestService.DEFAULT_SORT) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + LeaveRequestService.DEFAULT_PAGE_SIZE) int size) {
+        LeaveRequestFilter filter = new LeaveRequestFilter(status != null ? LeaveStatus.from(status) : null,
+                employeeId, department, from, to);
+        LeaveRequestPage page = leaveRequestService.searchLeaveRequests(filter, after, size, sort);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Every leave request as JSON, CSV or an Arrow IPC stream, written while the rows are read
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequests(
+            @RequestParam(defaultValue = "json") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = exportFormat == ExportFormat.JSON
+                ? JsonStreams.array(objectMapper, leaveRequestService::streamLeaveRequestViews)
+                : DatabaseConcurrencyLimiter.streaming(
+                        out -> tableExporter.export(ExportTable.LEAVE_REQUESTS, exportFormat, out));
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.contentDisposition(ExportTable.LEAVE_REQUESTS))
+                .body(body);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     public ResponseEntity<LeaveRequest> getLeaveRequestById(@PathVariable Long id) {
+        // Matching If-None-Match revalidations get a bodiless 304
         LeaveRequest leaveRequest = leaveRequestService.getLeaveRequestById(id);
-        return ResponseEntity.ok(leaveRequest);
+        return ResponseEntity.ok().eTag(ETags.of(leaveRequest)).body(leaveRequest);
     }
 
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
-    public ResponseEntity<List<LeaveRequest>> getLeaveRequestsByEmployeeId(@PathVariable Long employeeId) {
-        List<LeaveRequest> leaveRequests = leaveRequestService.getLeaveRequestsByEmployeeId(employeeId);
+    public ResponseEntity<List<LeaveRequestView>> getLeaveRequestsByEmployeeId(@PathVariable Long employeeId) {
+        List<LeaveRequestView> leaveRequests = leaveRequestService.getLeaveRequestsByEmployeeId(employeeId);
         return ResponseEntity.ok(leaveRequests);
     }
 
     @GetMapping("/pending")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<LeaveRequest>> getPendingLeaveRequests() {
-        List<LeaveRequest> leaveRequests = leaveRequestService.getPendingLeaveRequests();
+    public ResponseEntity<List<LeaveRequestView>> getPendingLeaveRequests() {
+        List<LeaveRequestView> leaveRequests = leaveRequestService.getPendingLeaveRequests();
         return ResponseEntity.ok(leaveRequests);
     }
 
+    /**
+     * Server-sent leave request changes for one department, or all of them when
+     * omitted. A reconnecting client's Last-Event-ID replays what it missed.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public SseEmitter streamLeaveRequestEvents(@RequestParam(required = false) String department,
+                                               @RequestHeader(value = "Last-Event-ID", required = false)
+                                               String lastEventId,
+                                               @AuthenticationPrincipal CustomUserDetails principal) {
+        return leaveRequestService.subscribeToEvents(principal, department, lastEventId);
+    }
+
     @PostMapping("/employee/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     public ResponseEntity<LeaveRequest> createLeaveRequest(@Valid @RequestBody LeaveRequest leaveRequest,
@@ -59,16 +131,28 @@ public class LeaveRequestController {
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<LeaveRequest> updateLeaveRequestStatus(@PathVariable Long id,
-                                                                 @RequestBody Map<String, String> payload) {
-        String status = payload.get("status");
-        LeaveRequest updatedRequest = leaveRequestService.updateLeaveRequestStatus(id, status);
-        return ResponseEntity.ok(updatedRequest);
+                                                                 @RequestBody Map<String, String> payload,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH,
+                                                                         required = false) String ifMatch) {
+        LeaveStatus status = LeaveStatus.from(payload.get("status"));
+        LeaveRequest updatedRequest = leaveRequestService.updateLeaveRequestStatus(
+                id, status, ETags.ifMatchVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedRequest)).body(updatedRequest);
+    }
+
+    @PatchMapping("/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<BulkStatusResult> updateLeaveRequestStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        BulkStatusResult result = leaveRequestService.updateLeaveRequestStatuses(request);
+        return ResponseEntity.ok(result);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteLeaveRequest(@PathVariable Long id) {
-        leaveRequestService.deleteLeaveRequest(id);
+    public ResponseEntity<Void> deleteLeaveRequest(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
+        leaveRequestService.deleteLeaveRequest(id, ETags.ifMatchVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
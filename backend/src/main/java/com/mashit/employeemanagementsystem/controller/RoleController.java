@@ -2,8 +2,10 @@ package com.mashit.employeemanagementsystem.controller;
 
 import com.mashit.employeemanagementsystem.entity.Role;
 import com.mashit.employeemanagementsystem.service.RoleService;
+import com.mashit.employeemanagementsystem.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,22 +24,23 @@ public class RoleController {
     @GetMapping
     // @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")  // Temporarily disabled for testing
     public ResponseEntity<List<Role>> getAllRoles() {
+        // The ETag lets clients revalidate with If-None-Match and get a bodiless 304
         List<Role> roles = roleService.getAllRoles();
-        return ResponseEntity.ok(roles);
+        return ResponseEntity.ok().eTag(roleService.getRolesETag()).body(roles);
     }
 
     @GetMapping("/{id}")
     // @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")  // Temporarily disabled for testing
     public ResponseEntity<Role> getRoleById(@PathVariable Long id) {
         Role role = roleService.getRoleById(id);
-        return ResponseEntity.ok(role);
+        return ResponseEntity.ok().eTag(ETags.of(role)).body(role);
     }
 
     @GetMapping("/name/{name}")
     // @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")  // Temporarily disabled for testing
     public ResponseEntity<Role> getRoleByName(@PathVariable String name) {
         Role role = roleService.getRoleByName(name);
-        return ResponseEntity.ok(role);
+        return ResponseEntity.ok().eTag(ETags.of(role)).body(role);
     }
 
     @PostMapping
@@ -49,15 +52,19 @@ public class RoleController {
 
     @PutMapping("/{id}")
     // @PreAuthorize("hasRole('ADMIN')")  // Temporarily disabled for testing
-    public ResponseEntity<Role> updateRole(@PathVariable Long id, @Valid @RequestBody Role role) {
-        Role updatedRole = roleService.updateRole(id, role);
-        return ResponseEntity.ok(updatedRole);
+    public ResponseEntity<Role> updateRole(@PathVariable Long id, @Valid @RequestBody Role role,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
+        Role updatedRole = roleService.updateRole(id, role, ETags.ifMatchVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedRole)).body(updatedRole);
     }
 
     @DeleteMapping("/{id}")
     // @PreAuthorize("hasRole('ADMIN')")  // Temporarily disabled for testing
-    public ResponseEntity<Void> deleteRole(@PathVariable Long id) {
-        roleService.deleteRole(id);
+    public ResponseEntity<Void> deleteRole(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
+        roleService.deleteRole(id, ETags.ifMatchVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.mashit.employeemanagementsystem.controller;
 
+import com.mashit.employeemanagementsystem.dto.UserView;
 import com.mashit.employeemanagementsystem.entity.User;
 import com.mashit.employeemanagementsystem.service.UserService;
+import com.mashit.employeemanagementsystem.util.ETags;
+import com.mashit.employeemanagementsystem.util.JsonStreams;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -18,33 +25,46 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<List<UserView>> getAllUsers() {
+        List<UserView> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
     @GetMapping("/active")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<User>> getAllActiveUsers() {
-        List<User> users = userService.getAllActiveUsers();
+    public ResponseEntity<List<UserView>> getAllActiveUsers() {
+        List<UserView> users = userService.getAllActiveUsers();
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Every user as one JSON array, written while the rows are read
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreams.array(objectMapper, userService::streamUserViews));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
+        // Matching If-None-Match revalidations get a bodiless 304
         User user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
     }
 
     @GetMapping("/username/{username}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
         User user = userService.getUserByUsername(username);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
     }
 
     @PostMapping
@@ -56,22 +76,28 @@ public class UserController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
-        User updatedUser = userService.updateUser(id, user);
-        return ResponseEntity.ok(updatedUser);
+    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
+        User updatedUser = userService.updateUser(id, user, ETags.ifMatchVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedUser)).body(updatedUser);
     }
 
     @PatchMapping("/{id}/toggle-status")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<User> toggleUserStatus(@PathVariable Long id) {
-        User user = userService.toggleUserStatus(id);
-        return ResponseEntity.ok(user);
+    public ResponseEntity<User> toggleUserStatus(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                 String ifMatch) {
+        User user = userService.toggleUserStatus(id, ETags.ifMatchVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
+        userService.deleteUser(id, ETags.ifMatchVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
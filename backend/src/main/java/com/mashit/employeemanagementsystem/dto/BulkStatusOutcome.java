@@ -0,0 +1,22 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusOutcome {
+
+    public enum Result {
+        UPDATED,
+        NOT_FOUND,
+        INVALID_TRANSITION
+    }
+
+    private Long id;
+    private Result result;
+    private LeaveStatus status;
+}
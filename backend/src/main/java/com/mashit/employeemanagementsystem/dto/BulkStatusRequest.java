@@ -0,0 +1,23 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Moves many leave requests to one status, selected either by id or by filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusRequest {
+
+    private List<Long> ids;
+    private LeaveRequestFilter filter;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+}
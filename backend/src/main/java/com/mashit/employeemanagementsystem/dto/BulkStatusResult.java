@@ -0,0 +1,23 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome per requested id; status is the new status when updated, otherwise
+ * the status that blocked the transition
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResult {
+
+    private LeaveStatus status;
+    private int updated;
+    private int skipped;
+    private List<BulkStatusOutcome> outcomes;
+}
@@ -0,0 +1,29 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed. The payload is the changed resource as JSON,
+ * null for deletions except leave requests, which carry the request as it was.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    private Long sequence;
+    private AggregateType aggregateType;
+    private Long aggregateId;
+    private ChangeType changeType;
+    private LocalDateTime occurredAt;
+
+    @JsonRawValue
+    private String payload;
+}
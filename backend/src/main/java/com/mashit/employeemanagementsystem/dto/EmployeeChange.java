@@ -0,0 +1,22 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the employee delta feed. A deleted employee is a tombstone with
+ * no employee body; updatedAt and employeeId form the watermark for the next read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+
+    private Long employeeId;
+    private LocalDateTime updatedAt;
+    private boolean deleted;
+    private EmployeeView employee;
+}
@@ -0,0 +1,43 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportRow {
+
+    @NotBlank(message = "First name is required")
+    @Size(max = 50, message = "First name must be at most 50 characters")
+    private String firstName;
+
+    @NotBlank(message = "Last name is required")
+    @Size(max = 50, message = "Last name must be at most 50 characters")
+    private String lastName;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 100, message = "Email must be at most 100 characters")
+    private String email;
+
+    @Size(max = 20, message = "Phone number must be at most 20 characters")
+    private String phoneNumber;
+
+    @Size(max = 100, message = "Department must be at most 100 characters")
+    private String department;
+
+    @Size(max = 100, message = "Position must be at most 100 characters")
+    private String position;
+
+    private LocalDate hireDate;
+    private Double salary;
+    private Long roleId;
+    private String roleName;
+}
@@ -0,0 +1,22 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The employee fields embedded in user and leave request list rows
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSummary {
+
+    private Long employeeId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String department;
+    private String position;
+    private RoleSummary role;
+}
@@ -0,0 +1,39 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for employee lists, built directly by a JPQL constructor expression
+ * so a page is one query with no entities in the persistence context. Keeps the
+ * JSON shape of the Employee entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeView {
+
+    private Long employeeId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private String department;
+    private String position;
+    private LocalDate hireDate;
+    private Double salary;
+    private RoleSummary role;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public EmployeeView(Long employeeId, String firstName, String lastName, String email, String phoneNumber,
+                        String department, String position, LocalDate hireDate, Double salary,
+                        Long roleId, String roleName, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(employeeId, firstName, lastName, email, phoneNumber, department, position, hireDate, salary,
+                new RoleSummary(roleId, roleName), createdAt, updatedAt);
+    }
+}
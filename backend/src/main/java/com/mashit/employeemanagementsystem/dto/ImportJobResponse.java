@@ -0,0 +1,31 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import com.mashit.employeemanagementsystem.entity.ImportFormat;
+import com.mashit.employeemanagementsystem.entity.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private Long id;
+    private ImportFormat format;
+    private ImportJobStatus status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private double rowsPerSecond;
+    private int attempts;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<ImportRowError> errors = new ArrayList<>();
+}
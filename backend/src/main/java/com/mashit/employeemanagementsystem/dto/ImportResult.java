@@ -0,0 +1,19 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ImportRowError> errors = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Employees off on a given date, across the company or in one department
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveHeadcount {
+
+    private LocalDate date;
+    private String department;
+    private int approved;
+    private int pending;
+}
@@ -0,0 +1,19 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import com.mashit.employeemanagementsystem.entity.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A leave request change pushed to dashboards. The request is shown as it was
+ * after the change, or just before it for a deletion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestEvent {
+
+    private ChangeType changeType;
+    private LeaveRequestView leaveRequest;
+}
@@ -0,0 +1,24 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria for leave request lists; from/to select requests whose
+ * dates overlap that range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestFilter {
+
+    private LeaveStatus status;
+    private Long employeeId;
+    private String department;
+    private LocalDate from;
+    private LocalDate to;
+}
@@ -0,0 +1,20 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A keyset page of leave requests. nextCursor is opaque, it encodes the sort and
+ * the last row's sort key and id, and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestPage {
+
+    private List<LeaveRequestView> items;
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Read model for leave request lists, with just enough of the employee to show
+ * who the request belongs to
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestView {
+
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LeaveStatus status;
+    private EmployeeSummary employee;
+
+    public LeaveRequestView(Long id, LocalDate startDate, LocalDate endDate, LeaveStatus status, Long employeeId,
+                            String firstName, String lastName, String email, String department, String position,
+                            Long roleId, String roleName) {
+        this(id, startDate, endDate, status, new EmployeeSummary(employeeId, firstName, lastName, email, department,
+                position, new RoleSummary(roleId, roleName)));
+    }
+}
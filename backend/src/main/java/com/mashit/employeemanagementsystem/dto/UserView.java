@@ -0,0 +1,25 @@
+package com.mashit.employeemanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model for user lists. Never carries the password hash.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserView {
+
+    private Long id;
+    private String username;
+    private Boolean enabled;
+    private EmployeeSummary employee;
+
+    public UserView(Long id, String username, Boolean enabled, Long employeeId, String firstName, String lastName,
+                    String email, String department, String position, Long roleId, String roleName) {
+        this(id, username, enabled, new EmployeeSummary(employeeId, firstName, lastName, email, department, position,
+                new RoleSummary(roleId, roleName)));
+    }
+}
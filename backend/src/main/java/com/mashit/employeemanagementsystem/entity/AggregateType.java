@@ -0,0 +1,8 @@
+package com.mashit.employeemanagementsystem.entity;
+
+public enum AggregateType {
+    EMPLOYEE,
+    USER,
+    ROLE,
+    LEAVE_REQUEST
+}
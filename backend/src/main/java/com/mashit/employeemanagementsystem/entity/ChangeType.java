@@ -0,0 +1,7 @@
+package com.mashit.employeemanagementsystem.entity;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
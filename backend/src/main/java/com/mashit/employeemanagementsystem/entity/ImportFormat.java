@@ -0,0 +1,6 @@
+package com.mashit.employeemanagementsystem.entity;
+
+public enum ImportFormat {
+    CSV,
+    JSON
+}
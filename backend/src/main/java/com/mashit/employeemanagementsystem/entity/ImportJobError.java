@@ -0,0 +1,31 @@
+package com.mashit.employeemanagementsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "import_job_errors", indexes = @Index(name = "idx_import_job_errors_job", columnList = "job_id, row_number"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "row_number", nullable = false)
+    private long rowNumber;
+
+    @Column(name = "row_key")
+    private String rowKey;
+
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+}
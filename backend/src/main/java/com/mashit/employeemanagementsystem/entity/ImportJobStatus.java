@@ -0,0 +1,8 @@
+package com.mashit.employeemanagementsystem.entity;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
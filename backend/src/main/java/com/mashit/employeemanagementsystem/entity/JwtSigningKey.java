@@ -0,0 +1,39 @@
+package com.mashit.employeemanagementsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A rotated JWT signing key, shared by every instance. The key configured in
+ * jwt.secret is not stored here.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    @Id
+    @Column(name = "key_id", length = 64)
+    private String keyId;
+
+    // Base64 of the raw HMAC key
+    @Column(name = "secret", nullable = false, length = 128)
+    private String secret;
+
+    @Column(name = "active", nullable = false)
+    private boolean active;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -1,15 +1,21 @@
 package com.mashit.employeemanagementsystem.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        @Index(name = "idx_leave_requests_employee_start", columnList = "employee_id, start_date"),
+        @Index(name = "idx_leave_requests_status_start", columnList = "status, start_date"),
+        @Index(name = "idx_leave_requests_dates", columnList = "start_date, end_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +26,7 @@ public class LeaveRequest {
     @Column(name = "id")
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
@@ -32,6 +38,13 @@ public class LeaveRequest {
     @Column(name = "end_date", nullable = false)
     private LocalDate endDate;
 
+    @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
-    private String status = "PENDING";
+    private LeaveStatus status = LeaveStatus.PENDING;
+
+    @Version
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
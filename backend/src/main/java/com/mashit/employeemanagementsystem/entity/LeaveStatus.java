@@ -0,0 +1,65 @@
+package com.mashit.employeemanagementsystem.entity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Leave request lifecycle. A request starts PENDING and is approved, rejected or
+ * cancelled; an approved request can still be cancelled. REJECTED and CANCELLED
+ * are final.
+ */
+public enum LeaveStatus {
+    PENDING,
+    APPROVED,
+    REJECTED,
+    CANCELLED;
+
+    /**
+     * Statuses that hold the dates on the leave calendar
+     */
+    public static final Set<LeaveStatus> ACTIVE = Collections.unmodifiableSet(EnumSet.of(PENDING, APPROVED));
+
+    public Set<LeaveStatus> nextStatuses() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(APPROVED, REJECTED, CANCELLED);
+            case APPROVED -> EnumSet.of(CANCELLED);
+            case REJECTED, CANCELLED -> EnumSet.noneOf(LeaveStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(LeaveStatus target) {
+        return nextStatuses().contains(target);
+    }
+
+    public boolean isActive() {
+        return ACTIVE.contains(this);
+    }
+
+    /**
+     * The statuses a request can be in to move to the target
+     */
+    public static Set<LeaveStatus> sourcesOf(LeaveStatus target) {
+        Set<LeaveStatus> sources = EnumSet.noneOf(LeaveStatus.class);
+        for (LeaveStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+
+    public static LeaveStatus from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Leave status is required");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown leave status '" + value + "', expected one of "
+                    + Arrays.toString(values()));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.mashit.employeemanagementsystem.events;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.dto.EmployeeSummary;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestEvent;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestView;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.exception.ChangeFeedExpiredException;
+import com.mashit.employeemanagementsystem.outbox.ChangeFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes committed leave request changes to connected dashboards as server-sent
+ * events. The streams follow the change feed, so changes made through any
+ * instance are pushed, and an event's id is its change feed sequence: a client
+ * reconnecting with Last-Event-ID gets what it missed from the outbox, or a reset
+ * event telling it to reload the pending list once that is no longer retained.
+ */
+@Component
+public class LeaveEventHub {
+
+    public static final String CHANGE_EVENT = "leave-request";
+    public static final String READY_EVENT = "ready";
+    public static final String RESET_EVENT = "reset";
+
+    // Recent events decoded once for every stream, cleared when it grows past this
+    private static final int MAX_DECODED_EVENTS = 1000;
+
+    private final ChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+    private final long streamTimeoutMs;
+    private final int maxPendingEvents;
+    private final Map<Long, LeaveRequestEvent> decoded = new ConcurrentHashMap<>();
+
+    public LeaveEventHub(ChangeFeed changeFeed,
+                         ObjectMapper objectMapper,
+                         @Value("${app.leave-events.stream-timeout-ms:1800000}") long streamTimeoutMs,
+                         @Value("${app.leave-events.stream-max-pending:1000}") int maxPendingEvents) {
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    /**
+     * Streams changes for one department, or for all of them when it is null. A
+     * resumable lastEventId replays the missed events first, any other one gets a
+     * reset event; a new stream starts with a ready event carrying the current id.
+     */
+    public SseEmitter subscribe(String department, String lastEventId) {
+        long latest = changeFeed.latestSequence();
+        Long resumeFrom = resumableCursor(lastEventId, latest);
+
+        SseEmitter.SseEventBuilder first = null;
+        if (resumeFrom == null) {
+            String id = String.valueOf(latest);
+            first = SseEmitter.event().id(id).name(lastEventId == null ? READY_EVENT : RESET_EVENT).data(id);
+        }
+        return changeFeed.subscribe(resumeFrom != null ? resumeFrom : latest, event -> format(event, department),
+                first, streamTimeoutMs, maxPendingEvents);
+    }
+
+    // Null when the id is not a sequence, is ahead of the feed or its successors were purged
+    private Long resumableCursor(String lastEventId, long latest) {
+        if (lastEventId == null) {
+            return null;
+        }
+
+        long cursor;
+        try {
+            cursor = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (cursor < 0 || cursor > latest) {
+            return null;
+        }
+        try {
+            changeFeed.read(cursor, 1);
+        } catch (ChangeFeedExpiredException e) {
+            return null;
+        }
+        return cursor;
+    }
+
+    private SseEmitter.SseEventBuilder format(ChangeEvent event, String department) {
+        if (event.getAggregateType() != AggregateType.LEAVE_REQUEST || event.getPayload() == null) {
+            return null;
+        }
+
+        LeaveRequestEvent leaveEvent = decode(event);
+        EmployeeSummary employee = leaveEvent.getLeaveRequest().getEmployee();
+        if (department != null && (employee == null || !department.equals(employee.getDepartment()))) {
+            return null;
+        }
+        return SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name(CHANGE_EVENT)
+                .data(leaveEvent, MediaType.APPLICATION_JSON);
+    }
+
+    private LeaveRequestEvent decode(ChangeEvent event) {
+        if (decoded.size() >= MAX_DECODED_EVENTS) {
+            decoded.clear();
+        }
+        return decoded.computeIfAbsent(event.getSequence(), sequence -> new LeaveRequestEvent(
+                event.getChangeType(), objectMapper.readValue(event.getPayload(), LeaveRequestView.class)));
+    }
+}
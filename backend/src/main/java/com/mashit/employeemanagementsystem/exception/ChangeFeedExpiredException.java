@@ -0,0 +1,8 @@
+package com.mashit.employeemanagementsystem.exception;
+
+public class ChangeFeedExpiredException extends RuntimeException {
+
+    public ChangeFeedExpiredException(long since) {
+        super("Changes after " + since + " are no longer retained, resync and continue from the current cursor");
+    }
+}
@@ -0,0 +1,8 @@
+package com.mashit.employeemanagementsystem.exception;
+
+public class InvalidStateTransitionException extends RuntimeException {
+
+    public InvalidStateTransitionException(String resourceName, Object id, Object from, Object to) {
+        super(String.format("%s %s cannot move from %s to %s", resourceName, id, from, to));
+    }
+}
@@ -0,0 +1,19 @@
+package com.mashit.employeemanagementsystem.exception;
+
+import java.util.List;
+
+public class LeaveOverlapException extends RuntimeException {
+
+    private final List<Long> conflictingIds;
+
+    public LeaveOverlapException(List<Long> conflictingIds) {
+        super(conflictingIds.isEmpty()
+                ? "Leave request overlaps an existing request for this employee"
+                : "Leave request overlaps existing request(s) " + conflictingIds + " for this employee");
+        this.conflictingIds = conflictingIds;
+    }
+
+    public List<Long> getConflictingIds() {
+        return conflictingIds;
+    }
+}
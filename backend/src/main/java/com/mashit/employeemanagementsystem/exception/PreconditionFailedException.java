@@ -0,0 +1,9 @@
+package com.mashit.employeemanagementsystem.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String resourceName, Object id, Long expectedVersion, Long currentVersion) {
+        super(String.format("%s %s was modified (version %d, If-Match expected %d), reload it and try again",
+                resourceName, id, currentVersion, expectedVersion));
+    }
+}
@@ -0,0 +1,8 @@
+package com.mashit.employeemanagementsystem.exception;
+
+public class ResourceInUseException extends RuntimeException {
+
+    public ResourceInUseException(String message) {
+        super(message);
+    }
+}
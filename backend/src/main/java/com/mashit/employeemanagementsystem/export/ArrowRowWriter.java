@@ -0,0 +1,166 @@
+package com.mashit.employeemanagementsystem.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Arrow IPC stream: the schema, then one record batch per batchSize rows. The
+ * vectors are reused from batch to batch, so off-heap memory stays at one
+ * batch however many rows are exported. Timestamps are microseconds without a
+ * time zone, like the columns they come from.
+ */
+class ArrowRowWriter implements RowWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<ExportColumn> columns;
+    private final int batchSize;
+    private final BufferAllocator allocator;
+    private final VectorSchemaRoot root;
+    private final OutputStream out;
+    private final ArrowStreamWriter writer;
+    private int rows;
+
+    ArrowRowWriter(List<ExportColumn> columns, int batchSize, BufferAllocator allocator, OutputStream out)
+            throws IOException {
+        this.columns = columns;
+        this.batchSize = batchSize;
+        this.allocator = allocator;
+        this.root = VectorSchemaRoot.create(schema(columns), allocator);
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        this.writer = new ArrowStreamWriter(root, null, Channels.newChannel(this.out));
+
+        try {
+            root.allocateNew();
+            writer.start();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(ResultSet resultSet) throws SQLException, IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            set(root.getVector(i), columns.get(i).type(), resultSet, i + 1);
+        }
+        if (++rows == batchSize) {
+            writeBatch();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rows > 0) {
+            writeBatch();
+        }
+        writer.end();
+        out.flush();
+    }
+
+    /**
+     * Releases the vectors. The writer is left open, closing it would close the
+     * response stream the container owns.
+     */
+    @Override
+    public void close() {
+        root.close();
+        allocator.close();
+    }
+
+    private void writeBatch() throws IOException {
+        root.setRowCount(rows);
+        writer.writeBatch();
+        root.getFieldVectors().forEach(FieldVector::reset);
+        rows = 0;
+    }
+
+    private void set(FieldVector vector, ExportColumn.Type type, ResultSet resultSet, int index)
+            throws SQLException {
+        switch (type) {
+            case BIGINT -> {
+                long value = resultSet.getLong(index);
+                if (resultSet.wasNull()) {
+                    ((BigIntVector) vector).setNull(rows);
+                } else {
+                    ((BigIntVector) vector).setSafe(rows, value);
+                }
+            }
+            case DOUBLE -> {
+                double value = resultSet.getDouble(index);
+                if (resultSet.wasNull()) {
+                    ((Float8Vector) vector).setNull(rows);
+                } else {
+                    ((Float8Vector) vector).setSafe(rows, value);
+                }
+            }
+            case TEXT -> {
+                String value = resultSet.getString(index);
+                if (value == null) {
+                    ((VarCharVector) vector).setNull(rows);
+                } else {
+                    ((VarCharVector) vector).setSafe(rows, value.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            case DATE -> {
+                LocalDate value = resultSet.getObject(index, LocalDate.class);
+                if (value == null) {
+                    ((DateDayVector) vector).setNull(rows);
+                } else {
+                    ((DateDayVector) vector).setSafe(rows, (int) value.toEpochDay());
+                }
+            }
+            case TIMESTAMP -> {
+                LocalDateTime value = resultSet.getObject(index, LocalDateTime.class);
+                if (value == null) {
+                    ((TimeStampMicroVector) vector).setNull(rows);
+                } else {
+                    long micros = value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+                    ((TimeStampMicroVector) vector).setSafe(rows, micros);
+                }
+            }
+        }
+    }
+
+    private static Schema schema(List<ExportColumn> columns) {
+        return new Schema(columns.stream()
+                .map(column -> new Field(column.name(), FieldType.nullable(arrowType(column.type())), null))
+                .toList());
+    }
+
+    private static ArrowType arrowType(ExportColumn.Type type) {
+        return switch (type) {
+            case BIGINT -> new ArrowType.Int(64, true);
+            case DOUBLE -> new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case TEXT -> ArrowType.Utf8.INSTANCE;
+            case DATE -> new ArrowType.Date(DateUnit.DAY);
+            case TIMESTAMP -> new ArrowType.Timestamp(TimeUnit.MICROSECOND, null);
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.mashit.employeemanagementsystem.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with a header row. Dates and timestamps are ISO-8601, nulls are
+ * empty fields. Text starting with =, +, -, @, a tab or a carriage return gets a
+ * leading apostrophe, so a spreadsheet opening the file shows it rather than
+ * evaluating it as a formula.
+ */
+class CsvRowWriter implements RowWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<ExportColumn> columns;
+    private final Writer writer;
+
+    CsvRowWriter(List<ExportColumn> columns, OutputStream out) throws IOException {
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ResultSet resultSet) throws SQLException, IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            int index = i + 1;
+            Object value = switch (columns.get(i).type()) {
+                case BIGINT -> nullable(resultSet, resultSet.getLong(index));
+                case DOUBLE -> nullable(resultSet, resultSet.getDouble(index));
+                case TEXT -> resultSet.getString(index);
+                case DATE -> resultSet.getObject(index, LocalDate.class);
+                case TIMESTAMP -> resultSet.getObject(index, LocalDateTime.class);
+            };
+            if (value instanceof String text) {
+                writeField(neutralize(text));
+            } else if (value != null) {
+                writeField(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        // Flushed rather than closed, the container owns the response stream
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Only text is user input, numbers such as a negative salary are left alone
+    private static String neutralize(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@'
+                || first == '\t' || first == '\r';
+        return formula ? "'" + value : value;
+    }
+
+    private static Object nullable(ResultSet resultSet, Object value) throws SQLException {
+        return resultSet.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mashit.employeemanagementsystem.export;
+
+/**
+ * One column of an exported table, in select list order
+ */
+public record ExportColumn(String name, Type type) {
+
+    public enum Type {
+        BIGINT,
+        DOUBLE,
+        TEXT,
+        DATE,
+        TIMESTAMP
+    }
+}
@@ -0,0 +1,44 @@
+package com.mashit.employeemanagementsystem.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum ExportFormat {
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    CSV(new MediaType("text", "csv"), "csv"),
+    ARROW(new MediaType("application", "vnd.apache.arrow.stream"), "arrows");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Content-Disposition offering the export as a download named after the table
+     */
+    public String contentDisposition(ExportTable table) {
+        return ContentDisposition.attachment().filename(table.getBaseName() + "." + extension).build().toString();
+    }
+
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Export format is required");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format '" + value + "', expected one of "
+                    + Arrays.toString(values()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.mashit.employeemanagementsystem.export;
+
+import com.mashit.employeemanagementsystem.export.ExportColumn.Type;
+
+import java.util.List;
+
+/**
+ * Tables offered for bulk export, read with plain SQL so no entity is ever
+ * built. Rows come in primary key order, soft-deleted employees are left out.
+ */
+public enum ExportTable {
+    EMPLOYEES("employees",
+            "SELECT e.employee_id, e.first_name, e.last_name, e.email, e.phone_number, e.department, e.position, " +
+                    "e.hire_date, e.salary, r.name, e.created_at, e.updated_at " +
+                    "FROM employees e JOIN roles r ON r.role_id = e.role_id " +
+                    "WHERE e.deleted_at IS NULL ORDER BY e.employee_id",
+            List.of(
+                    new ExportColumn("employee_id", Type.BIGINT),
+                    new ExportColumn("first_name", Type.TEXT),
+                    new ExportColumn("last_name", Type.TEXT),
+                    new ExportColumn("email", Type.TEXT),
+                    new ExportColumn("phone_number", Type.TEXT),
+                    new ExportColumn("department", Type.TEXT),
+                    new ExportColumn("position", Type.TEXT),
+                    new ExportColumn("hire_date", Type.DATE),
+                    new ExportColumn("salary", Type.DOUBLE),
+                    new ExportColumn("role", Type.TEXT),
+                    new ExportColumn("created_at", Type.TIMESTAMP),
+                    new ExportColumn("updated_at", Type.TIMESTAMP))),
+    LEAVE_REQUESTS("leave_requests",
+            "SELECT lr.id, lr.employee_id, lr.start_date, lr.end_date, lr.status " +
+                    "FROM leave_requests lr ORDER BY lr.id",
+            List.of(
+                    new ExportColumn("id", Type.BIGINT),
+                    new ExportColumn("employee_id", Type.BIGINT),
+                    new ExportColumn("start_date", Type.DATE),
+                    new ExportColumn("end_date", Type.DATE),
+                    new ExportColumn("status", Type.TEXT)));
+
+    private final String baseName;
+    private final String sql;
+    private final List<ExportColumn> columns;
+
+    ExportTable(String baseName, String sql, List<ExportColumn> columns) {
+        this.baseName = baseName;
+        this.sql = sql;
+        this.columns = columns;
+    }
+
+    public String getBaseName() {
+        return baseName;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<ExportColumn> getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,22 @@
+package com.mashit.employeemanagementsystem.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes result set rows in one export format. Rows are copied straight from
+ * the cursor, nothing is kept once it has been written or batched.
+ */
+interface RowWriter extends AutoCloseable {
+
+    void write(ResultSet resultSet) throws SQLException, IOException;
+
+    /**
+     * Writes whatever is still buffered and the format's trailer
+     */
+    void finish() throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,82 @@
+package com.mashit.employeemanagementsystem.export;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Streams whole tables as CSV or Arrow for bulk consumers. Rows are read with
+ * plain JDBC through a forward-only cursor, batchSize rows per round trip, and
+ * written as they arrive, so neither entities nor the full result are ever held
+ * in memory. Each export keeps one database connection until it finishes.
+ */
+@Service
+public class TableExporter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long arrowMemoryLimit;
+    private final RootAllocator rootAllocator;
+
+    public TableExporter(JdbcTemplate jdbcTemplate,
+                         @Value("${app.export.batch-size:5000}") int batchSize,
+                         @Value("${app.export.arrow-memory-limit-mb:64}") long arrowMemoryLimitMb) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(batchSize, 1);
+        this.arrowMemoryLimit = arrowMemoryLimitMb * 1024 * 1024;
+        this.rootAllocator = new RootAllocator();
+    }
+
+    @PreDestroy
+    public void stop() {
+        rootAllocator.close();
+    }
+
+    /**
+     * Writes the table to out. The PostgreSQL driver only fetches in batches
+     * inside a transaction, otherwise it reads the whole result up front.
+     */
+    @Transactional(readOnly = true)
+    public void export(ExportTable table, ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter writer = newWriter(table, format, out)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(table.getSql(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(batchSize);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                try {
+                    writer.write(resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private RowWriter newWriter(ExportTable table, ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRowWriter(table.getColumns(), out);
+            case ARROW -> {
+                // Each export gets its own budget, released with its vectors
+                BufferAllocator allocator = rootAllocator.newChildAllocator(table.getBaseName(), 0, arrowMemoryLimit);
+                yield new ArrowRowWriter(table.getColumns(), batchSize, allocator, out);
+            }
+            case JSON -> throw new IllegalArgumentException("Tables are exported as CSV or Arrow, not " + format);
+        };
+    }
+}
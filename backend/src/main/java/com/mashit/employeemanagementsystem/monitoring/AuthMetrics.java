@@ -0,0 +1,38 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the phases of JWT request authentication
+ */
+@Component
+public class AuthMetrics {
+
+    public enum Phase {
+        CACHE,
+        PARSE,
+        LOOKUP,
+        VALIDATE
+    }
+
+    private final Map<Phase, Timer> timers = new EnumMap<>(Phase.class);
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            timers.put(phase, Timer.builder("auth.filter.phase")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T time(Phase phase, Supplier<T> action) {
+        return timers.get(phase).record(action);
+    }
+}
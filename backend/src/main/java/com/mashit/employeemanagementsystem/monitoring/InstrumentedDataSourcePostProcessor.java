@@ -0,0 +1,47 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every statement is seen by {@link SqlMetrics}.
+ * Replaces spring.jpa.show-sql, which logged every statement and measured nothing.
+ */
+@Component
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlMetrics> sqlMetrics;
+    private final boolean enabled;
+    private volatile SqlMetrics resolved;
+
+    public InstrumentedDataSourcePostProcessor(ObjectProvider<SqlMetrics> sqlMetrics,
+                                               @Value("${app.sql.instrumentation.enabled:true}") boolean enabled) {
+        this.sqlMetrics = sqlMetrics;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return JdbcProxies.dataSource(dataSource, this::metrics);
+    }
+
+    /**
+     * Resolved on first use rather than here, the metrics bean needs the meter
+     * registry which must not be created while the DataSource is
+     */
+    private SqlMetrics metrics() {
+        SqlMetrics metrics = resolved;
+        if (metrics == null) {
+            metrics = sqlMetrics.getObject();
+            resolved = metrics;
+        }
+        return metrics;
+    }
+}
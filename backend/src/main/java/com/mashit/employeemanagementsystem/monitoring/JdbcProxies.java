@@ -0,0 +1,97 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * JDK proxies around the JDBC objects handed out by the DataSource. Statement
+ * executions are timed and result set rows counted; every other call goes
+ * straight to the driver object.
+ */
+final class JdbcProxies {
+
+    private JdbcProxies() {
+    }
+
+    static DataSource dataSource(DataSource target, Supplier<SqlMetrics> metrics) {
+        return proxy(DataSource.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return connection(connection, metrics);
+            }
+            return result;
+        });
+    }
+
+    private static Connection connection(Connection target, Supplier<SqlMetrics> metrics) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String value ? value : null;
+
+            if (result instanceof CallableStatement statement) {
+                return statement(CallableStatement.class, statement, sql, metrics);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return statement(PreparedStatement.class, statement, sql, metrics);
+            }
+            if (result instanceof Statement statement) {
+                return statement(Statement.class, statement, null, metrics);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, T target, String preparedSql,
+                                                     Supplier<SqlMetrics> metrics) {
+        return proxy(type, target, (proxy, method, args) -> {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = invoke(target, method, args);
+                return result instanceof ResultSet resultSet && name.equals("getResultSet")
+                        ? resultSet(resultSet, metrics)
+                        : result;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String value ? value : preparedSql;
+            long start = System.nanoTime();
+            try {
+                Object result = invoke(target, method, args);
+                return result instanceof ResultSet resultSet ? resultSet(resultSet, metrics) : result;
+            } finally {
+                metrics.get().recordStatement(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target, Supplier<SqlMetrics> metrics) {
+        return proxy(ResultSet.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                metrics.get().recordRow();
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
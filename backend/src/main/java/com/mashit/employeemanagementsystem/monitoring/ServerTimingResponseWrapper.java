@@ -0,0 +1,123 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Adds the Server-Timing header just before the response commits. Headers can't
+ * be set after the first byte is written, so the header is added on the first
+ * write or flush and reports the SQL activity up to that point.
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final SqlRequestStats stats;
+    private boolean headerWritten;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, SqlRequestStats stats) {
+        super(response);
+        this.stats = stats;
+    }
+
+    void writeHeader() {
+        if (headerWritten || isCommitted()) {
+            return;
+        }
+        headerWritten = true;
+        addHeader(SERVER_TIMING, String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d queries, %d rows\"",
+                stats.getDbMillis(), stats.getQueryCount(), stats.getRowsFetched()));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new HeaderWritingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writeHeader();
+            writer = super.getWriter();
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeader();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+
+    private class HeaderWritingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        HeaderWritingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writeHeader();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeHeader();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeHeader();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeHeader();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
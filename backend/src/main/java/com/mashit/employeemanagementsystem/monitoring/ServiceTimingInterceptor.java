@@ -0,0 +1,62 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the public methods declared by one service class, tagged with the class,
+ * method and the exception thrown (if any)
+ */
+class ServiceTimingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Class<?> serviceClass;
+    private final String metricName;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    ServiceTimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Class<?> serviceClass, String metricName) {
+        this.meterRegistry = meterRegistry;
+        this.serviceClass = serviceClass;
+        this.metricName = metricName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() != serviceClass || !Modifier.isPublic(method.getModifiers())) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        String exception = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer timer = exception == null
+                    ? successTimers.computeIfAbsent(method, m -> timer(m, "none"))
+                    : timer(method, exception);
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(metricName)
+                .tag("class", serviceClass.getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry.getObject());
+    }
+}
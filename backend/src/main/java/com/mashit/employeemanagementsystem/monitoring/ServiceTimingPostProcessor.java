@@ -0,0 +1,56 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of beans whose class is annotated with {@link Timed}.
+ * Runs after the transaction proxies are created, so the timing advice is added to
+ * the existing proxy and covers the transaction boundary as well.
+ */
+@Component
+public class ServiceTimingPostProcessor implements BeanPostProcessor, Ordered {
+
+    static final String DEFAULT_METRIC = "service.method";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ServiceTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        Timed timed = AnnotatedElementUtils.findMergedAnnotation(targetClass, Timed.class);
+        if (timed == null) {
+            return bean;
+        }
+
+        String metricName = timed.value().isEmpty() ? DEFAULT_METRIC : timed.value();
+        ServiceTimingInterceptor interceptor = new ServiceTimingInterceptor(meterRegistry, targetClass, metricName);
+
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,123 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects what the instrumented DataSource sees. Statements are attributed to
+ * the request bound to the current thread, and each request's totals are
+ * published to Micrometer tagged with the handler method that served it.
+ * <p>
+ * Only the request thread is bound, until the handler returns. Work on other
+ * threads (StreamingResponseBody exports, SSE sends, @Async and scheduled jobs)
+ * is deliberately not carried over: it outlives the request's totals and its
+ * Server-Timing header, and an SSE or scheduler thread serves many clients at
+ * once. Those statements are counted under db.unattributed.* instead.
+ */
+@Component
+@Slf4j
+public class SqlMetrics {
+
+    private static final int MAX_LOGGED_SQL = 500;
+    private static final String REQUEST_SCOPE = " on the request thread until the handler returns; streaming "
+            + "bodies, SSE and background work are in db.unattributed.*";
+
+    private final ThreadLocal<SqlRequestStats> current = new ThreadLocal<>();
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdNanos;
+    private final int slowestLimit;
+    private final Counter unattributedQueries;
+    private final Timer unattributedTime;
+
+    public SqlMetrics(MeterRegistry meterRegistry,
+                      @Value("${app.sql.slow-query-threshold-ms:200}") long slowQueryThresholdMs,
+                      @Value("${app.sql.slowest-statements:3}") int slowestLimit) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+        this.slowestLimit = slowestLimit;
+        this.unattributedQueries = Counter.builder("db.unattributed.queries")
+                .description("SQL statements run outside a request thread, e.g. exports, SSE and @Async work")
+                .register(meterRegistry);
+        this.unattributedTime = Timer.builder("db.unattributed.time")
+                .description("Time in SQL statements run outside a request thread")
+                .register(meterRegistry);
+    }
+
+    public SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats(slowestLimit);
+        current.set(stats);
+        return stats;
+    }
+
+    public SqlRequestStats current() {
+        return current.get();
+    }
+
+    public void end(SqlRequestStats stats, String handler) {
+        current.remove();
+
+        DistributionSummary.builder("db.request.queries")
+                .description("SQL statements per request" + REQUEST_SCOPE)
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.getQueryCount());
+        DistributionSummary.builder("db.request.rows")
+                .description("Rows read per request" + REQUEST_SCOPE)
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.getRowsFetched());
+        Timer.builder("db.request.time")
+                .description("Time in SQL statements per request" + REQUEST_SCOPE)
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        if (stats.getSlowQueries() > 0) {
+            Counter.builder("db.slow.queries")
+                    .description("Statements slower than app.sql.slow-query-threshold-ms" + REQUEST_SCOPE)
+                    .tag("handler", handler)
+                    .register(meterRegistry)
+                    .increment(stats.getSlowQueries());
+        }
+
+        if (log.isDebugEnabled() && stats.getQueryCount() > 0) {
+            log.debug("{}: {} queries, {} rows, {} ms in DB, slowest {}", handler, stats.getQueryCount(),
+                    stats.getRowsFetched(), String.format("%.2f", stats.getDbMillis()), stats.getSlowest());
+        }
+    }
+
+    void recordStatement(String sql, long nanos) {
+        boolean slow = nanos >= slowQueryThresholdNanos;
+        if (slow) {
+            log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), abbreviate(sql));
+        }
+
+        SqlRequestStats stats = current.get();
+        if (stats != null) {
+            stats.recordStatement(sql, nanos, slow);
+        } else {
+            unattributedQueries.increment();
+            unattributedTime.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void recordRow() {
+        SqlRequestStats stats = current.get();
+        if (stats != null) {
+            stats.recordRow();
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null || sql.length() <= MAX_LOGGED_SQL) {
+            return sql;
+        }
+        return sql.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+}
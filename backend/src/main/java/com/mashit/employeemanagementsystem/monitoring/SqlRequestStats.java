@@ -0,0 +1,77 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * SQL activity of one HTTP request. Only touched by the request thread, so it is
+ * not synchronized.
+ */
+public class SqlRequestStats {
+
+    private final int slowestLimit;
+    private final List<SlowStatement> slowest = new ArrayList<>();
+    private int queryCount;
+    private long dbNanos;
+    private long rowsFetched;
+    private int slowQueries;
+
+    public SqlRequestStats(int slowestLimit) {
+        this.slowestLimit = slowestLimit;
+    }
+
+    void recordStatement(String sql, long nanos, boolean slow) {
+        queryCount++;
+        dbNanos += nanos;
+        if (slow) {
+            slowQueries++;
+        }
+
+        if (slowestLimit <= 0) {
+            return;
+        }
+        if (slowest.size() < slowestLimit) {
+            slowest.add(new SlowStatement(sql, nanos));
+            slowest.sort(Comparator.comparingLong(SlowStatement::nanos).reversed());
+        } else if (nanos > slowest.get(slowest.size() - 1).nanos()) {
+            slowest.set(slowest.size() - 1, new SlowStatement(sql, nanos));
+            slowest.sort(Comparator.comparingLong(SlowStatement::nanos).reversed());
+        }
+    }
+
+    void recordRow() {
+        rowsFetched++;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public double getDbMillis() {
+        return dbNanos / 1_000_000.0;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public int getSlowQueries() {
+        return slowQueries;
+    }
+
+    public List<SlowStatement> getSlowest() {
+        return List.copyOf(slowest);
+    }
+
+    public record SlowStatement(String sql, long nanos) {
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
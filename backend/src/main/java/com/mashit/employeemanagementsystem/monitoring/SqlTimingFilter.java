@@ -0,0 +1,57 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Binds a {@link SqlRequestStats} to each request, reports it in the
+ * Server-Timing header and publishes it tagged with the handler method.
+ * Ordered ahead of the security chain so authentication queries are counted.
+ * Async dispatches are skipped: an async body runs on another thread after the
+ * totals are published, see {@link SqlMetrics}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlTimingFilter extends OncePerRequestFilter {
+
+    private final SqlMetrics sqlMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = sqlMetrics.begin();
+        ServerTimingResponseWrapper timedResponse = new ServerTimingResponseWrapper(response, stats);
+        try {
+            filterChain.doFilter(request, timedResponse);
+            timedResponse.writeHeader();
+        } finally {
+            sqlMetrics.end(stats, handlerName(request));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    private static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,212 @@
+package com.mashit.employeemanagementsystem.outbox;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.exception.ChangeFeedExpiredException;
+import com.mashit.employeemanagementsystem.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Serves published change events to consumers that sync incrementally. A long
+ * poll with nothing to return parks until the relay publishes past its cursor.
+ * Event streams, this feed's own and the filtered ones other features open, get
+ * every published batch queued and sent on their own dispatch task, so a slow
+ * client never holds up the relay or another stream.
+ */
+@Service
+public class ChangeFeed {
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 5000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final long maxWaitMs;
+    private final long streamTimeoutMs;
+    private final int maxPendingEvents;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final Set<ChangeStream> streams = ConcurrentHashMap.newKeySet();
+    private final AtomicLong latestSequence = new AtomicLong(-1);
+    private final ExecutorService dispatchers;
+
+    public ChangeFeed(OutboxEventRepository outboxEventRepository,
+                      @Value("${app.changes.max-wait-ms:30000}") long maxWaitMs,
+                      @Value("${app.changes.stream-timeout-ms:1800000}") long streamTimeoutMs,
+                      @Value("${app.changes.stream-max-pending:10000}") int maxPendingEvents) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.maxWaitMs = maxWaitMs;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxPendingEvents = maxPendingEvents;
+
+        AtomicInteger dispatcherNumber = new AtomicInteger();
+        this.dispatchers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + dispatcherNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        streams.forEach(stream -> stream.emitter().complete());
+        dispatchers.shutdownNow();
+    }
+
+    /**
+     * The sequence of the newest published event, 0 when nothing was published yet.
+     * Consumers take it before a full download and sync from it afterwards.
+     */
+    public long latestSequence() {
+        if (latestSequence.get() < 0) {
+            latestSequence.accumulateAndGet(outboxEventRepository.findLatestSequence().orElse(0L), Math::max);
+        }
+        return latestSequence.get();
+    }
+
+    /**
+     * Published events after the cursor in sequence order. A cursor of 0 starts at
+     * the oldest retained event.
+     */
+    public List<ChangeEvent> read(long since, int limit) {
+        List<ChangeEvent> events = outboxEventRepository.findPublishedAfter(since, Limit.of(clamp(limit)));
+
+        // Sequences have no gaps, so skipping past the cursor means its successors were purged
+        if (since > 0 && !events.isEmpty() && events.get(0).getSequence() > since + 1) {
+            throw new ChangeFeedExpiredException(since);
+        }
+        return events;
+    }
+
+    /**
+     * Like read, but when there is nothing after the cursor yet waits up to waitMs
+     * for the relay to publish. Completes with an empty list on timeout.
+     */
+    public CompletableFuture<List<ChangeEvent>> poll(long since, int limit, long waitMs) {
+        List<ChangeEvent> events = read(since, limit);
+        if (!events.isEmpty() || waitMs <= 0) {
+            return CompletableFuture.completedFuture(events);
+        }
+
+        CompletableFuture<List<ChangeEvent>> result = new CompletableFuture<>();
+        Waiter waiter = new Waiter(since, clamp(limit), result);
+        waiters.add(waiter);
+        result.whenComplete((value, error) -> waiters.remove(waiter));
+        result.completeOnTimeout(List.of(), Math.min(waitMs, maxWaitMs), TimeUnit.MILLISECONDS);
+
+        // Covers a publication between the read above and registering the waiter
+        if (latestSequence() > since) {
+            offer(waiter, List.of());
+        }
+        return result;
+    }
+
+    /**
+     * Streams every published event after the cursor, replaying the backlog first
+     */
+    public SseEmitter subscribe(long since) {
+        // Fails with 410 before the stream starts when the cursor is too old
+        read(since, 1);
+        return subscribe(since, ChangeFeed::toSse, null, streamTimeoutMs, maxPendingEvents);
+    }
+
+    /**
+     * Streams the published events after the cursor as format makes them, skipping
+     * those it returns null for. The first event, when given, is sent before any
+     * other. The cursor is not checked against the retention.
+     */
+    public SseEmitter subscribe(long since, Function<ChangeEvent, SseEmitter.SseEventBuilder> format,
+                                SseEmitter.SseEventBuilder first, long timeoutMs, int maxPending) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        ChangeStream stream = new ChangeStream(emitter, since, format, outboxEventRepository, dispatchers,
+                maxPending, streams::remove);
+        if (first != null) {
+            stream.control(first);
+        }
+        streams.add(stream);
+
+        stream.catchUpTo(latestSequence());
+        return emitter;
+    }
+
+    /**
+     * Keeps idle streams from being closed by proxies and finds the dead ones
+     */
+    @Scheduled(fixedDelayString = "${app.changes.heartbeat-ms:15000}")
+    public void heartbeat() {
+        streams.forEach(ChangeStream::heartbeat);
+    }
+
+    /**
+     * Called by the relay with a committed batch in sequence order
+     */
+    public void published(List<ChangeEvent> events) {
+        latestSequence.accumulateAndGet(events.get(events.size() - 1).getSequence(), Math::max);
+        waiters.forEach(waiter -> offer(waiter, events));
+        streams.forEach(stream -> stream.enqueue(events));
+    }
+
+    /**
+     * Picks up events another instance's relay published, only while someone is listening
+     */
+    public void refresh() {
+        if (waiters.isEmpty() && streams.isEmpty()) {
+            return;
+        }
+
+        long latest = outboxEventRepository.findLatestSequence().orElse(0L);
+        if (latest > latestSequence.getAndAccumulate(latest, Math::max)) {
+            waiters.forEach(waiter -> offer(waiter, List.of()));
+            streams.forEach(stream -> stream.catchUpTo(latest));
+        }
+    }
+
+    private void offer(Waiter waiter, List<ChangeEvent> batch) {
+        try {
+            List<ChangeEvent> events;
+            if (!batch.isEmpty() && batch.get(0).getSequence() <= waiter.since() + 1) {
+                events = batch.stream()
+                        .filter(event -> event.getSequence() > waiter.since())
+                        .limit(waiter.limit())
+                        .toList();
+            } else {
+                events = outboxEventRepository.findPublishedAfter(waiter.since(), Limit.of(waiter.limit()));
+            }
+
+            if (!events.isEmpty()) {
+                waiter.result().complete(events);
+            }
+        } catch (RuntimeException e) {
+            waiter.result().completeExceptionally(e);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(ChangeEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name("change")
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private static int clamp(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_LIMIT);
+    }
+
+    private record Waiter(long since, int limit, CompletableFuture<List<ChangeEvent>> result) {
+    }
+}
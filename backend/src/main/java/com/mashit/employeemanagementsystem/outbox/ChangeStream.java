@@ -0,0 +1,204 @@
+package com.mashit.employeemanagementsystem.outbox;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One server-sent event stream following the change feed. Published batches are
+ * queued and delivered in sequence order by at most one dispatch task at a time;
+ * anything missing between the cursor and the next batch, the backlog included,
+ * is read from the outbox first. The format turns an event into what is sent, or
+ * null to skip it; the cursor moves past skipped events too, so the id of the
+ * last event sent resumes the stream. Callers only queue work and never write to
+ * the emitter, so a client that stops reading holds up its own dispatch task and
+ * nobody else's. One that falls too far behind is disconnected and resumes from
+ * its Last-Event-ID.
+ */
+@Slf4j
+public final class ChangeStream {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final SseEmitter emitter;
+    private final Function<ChangeEvent, SseEmitter.SseEventBuilder> format;
+    private final OutboxEventRepository outboxEventRepository;
+    private final Executor dispatchers;
+    private final int maxPendingEvents;
+    private final Consumer<ChangeStream> onClose;
+
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong target = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean open = new AtomicBoolean(true);
+    private volatile boolean disconnecting;
+
+    // Only touched by the dispatch task holding the draining flag
+    private long cursor;
+
+    ChangeStream(SseEmitter emitter, long cursor, Function<ChangeEvent, SseEmitter.SseEventBuilder> format,
+                 OutboxEventRepository outboxEventRepository, Executor dispatchers, int maxPendingEvents,
+                 Consumer<ChangeStream> onClose) {
+        this.emitter = emitter;
+        this.cursor = cursor;
+        this.format = format;
+        this.outboxEventRepository = outboxEventRepository;
+        this.dispatchers = dispatchers;
+        this.maxPendingEvents = maxPendingEvents;
+        this.onClose = onClose;
+
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Sent before anything queued after it, without moving the cursor
+     */
+    void control(SseEmitter.SseEventBuilder event) {
+        pending.add(event);
+        schedule();
+    }
+
+    /**
+     * A batch the relay published, its sequences have no gaps
+     */
+    void enqueue(List<ChangeEvent> events) {
+        if (pendingCount.addAndGet(events.size()) > maxPendingEvents) {
+            log.debug("Change stream fell {} events behind, disconnecting", pendingCount.get());
+            disconnect();
+            return;
+        }
+        pending.addAll(events);
+        schedule();
+    }
+
+    /**
+     * Sends whatever the outbox holds up to the sequence, for events another
+     * instance published and for the backlog of a new stream
+     */
+    void catchUpTo(long sequence) {
+        target.accumulateAndGet(sequence, Math::max);
+        schedule();
+    }
+
+    /**
+     * Keeps an idle stream from being closed by proxies and finds dead ones
+     */
+    void heartbeat() {
+        pending.add(HEARTBEAT);
+        schedule();
+    }
+
+    private void close() {
+        if (open.compareAndSet(true, false)) {
+            onClose.accept(this);
+        }
+    }
+
+    // Completed by the dispatch task, which may be blocked writing to this very emitter
+    private void disconnect() {
+        disconnecting = true;
+        close();
+        schedule();
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                dispatchers.execute(this::drain);
+            } catch (RuntimeException e) {
+                // Rejected after shutdown
+                draining.set(false);
+            }
+        }
+    }
+
+    private boolean hasWork() {
+        return disconnecting || !pending.isEmpty() || target.get() > cursor;
+    }
+
+    private void drain() {
+        try {
+            do {
+                Object item;
+                while (!disconnecting && (item = pending.poll()) != null) {
+                    deliver(item);
+                }
+                long upTo = target.get();
+                if (!disconnecting && upTo > cursor) {
+                    replay(upTo);
+                    // Nothing more is stored, a later catch up may raise the target again
+                    target.compareAndSet(upTo, Math.min(upTo, cursor));
+                }
+                if (disconnecting) {
+                    pending.clear();
+                    emitter.complete();
+                    return;
+                }
+                draining.set(false);
+            } while (hasWork() && draining.compareAndSet(false, true));
+        } catch (IOException | RuntimeException e) {
+            close();
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void deliver(Object item) throws IOException {
+        if (item == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else if (item instanceof SseEmitter.SseEventBuilder event) {
+            emitter.send(event);
+        } else if (item instanceof ChangeEvent event) {
+            pendingCount.decrementAndGet();
+            if (event.getSequence() > cursor + 1) {
+                replay(event.getSequence() - 1);
+            }
+            if (event.getSequence() > cursor) {
+                send(event);
+            }
+        }
+    }
+
+    private void replay(long upTo) throws IOException {
+        while (cursor < upTo) {
+            List<ChangeEvent> events =
+                    outboxEventRepository.findPublishedAfter(cursor, Limit.of(ChangeFeed.MAX_LIMIT));
+            if (events.isEmpty()) {
+                return;
+            }
+            for (ChangeEvent event : events) {
+                if (event.getSequence() > upTo) {
+                    return;
+                }
+                send(event);
+            }
+        }
+    }
+
+    private void send(ChangeEvent event) throws IOException {
+        SseEmitter.SseEventBuilder formatted = format.apply(event);
+        if (formatted != null) {
+            emitter.send(formatted);
+        }
+        cursor = event.getSequence();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mashit.employeemanagementsystem.outbox;
+
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
+import com.mashit.employeemanagementsystem.entity.OutboxEvent;
+import com.mashit.employeemanagementsystem.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Records changes in the outbox as part of the caller's transaction, so an event
+ * exists exactly when the change it describes committed. Calling it outside a
+ * transaction is an error.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The payload is serialized as it is now, pass null for deletions unless
+     * consumers need the last state
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(AggregateType aggregateType, Long aggregateId, ChangeType changeType, Object payload) {
+        outboxEventRepository.insertAll(
+                List.of(toEvent(aggregateType, aggregateId, changeType, payload, LocalDateTime.now())));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void publishAll(AggregateType aggregateType, ChangeType changeType, Collection<T> payloads,
+                               Function<T, Long> idOf) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.insertAll(payloads.stream()
+                .map(payload -> toEvent(aggregateType, idOf.apply(payload), changeType, payload, now))
+                .toList());
+    }
+
+    private OutboxEvent toEvent(AggregateType aggregateType, Long aggregateId, ChangeType changeType,
+                                Object payload, LocalDateTime occurredAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setChangeType(changeType);
+        event.setPayload(payload != null ? objectMapper.writeValueAsString(payload) : null);
+        event.setOccurredAt(occurredAt);
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mashit.employeemanagementsystem.outbox;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox in batches. Each batch is numbered in one statement and
+ * handed to the change feed once committed. One instance relays at a time, the
+ * others only watch for events it published.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeFeed changeFeed;
+    private final int batchSize;
+    private final int retentionDays;
+    private final Counter publishedEvents;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       TransactionTemplate transactionTemplate,
+                       ChangeFeed changeFeed,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.changeFeed = changeFeed;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.publishedEvents = Counter.builder("outbox.published").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:200}")
+    public void relay() {
+        List<ChangeEvent> published;
+        do {
+            published = transactionTemplate.execute(status -> outboxEventRepository.publishPending(batchSize));
+            if (published == null || published.isEmpty()) {
+                changeFeed.refresh();
+                return;
+            }
+            publishedEvents.increment(published.size());
+            changeFeed.published(published);
+        } while (published.size() == batchSize);
+    }
+
+    /**
+     * Consumers further behind than the retention get 410 and resync
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purge() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Purged {} outbox events older than {} days", deleted, retentionDays);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.dto.EmployeeChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads that must also see soft-deleted employees, which the entity hides
+ */
+public interface EmployeeQueries {
+
+    /**
+     * Employees whose (updatedAt, employeeId) is after the watermark and whose
+     * updatedAt is at least settleMs older than the database clock, in watermark
+     * order, deleted ones as tombstones
+     */
+    List<EmployeeChange> findChangedAfter(LocalDateTime since, long afterId, long settleMs, int limit);
+}
@@ -0,0 +1,66 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.dto.EmployeeChange;
+import com.mashit.employeemanagementsystem.dto.EmployeeView;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class EmployeeQueriesImpl implements EmployeeQueries {
+
+    // The row comparison walks idx_employees_updated_at from the watermark. updated_at is
+    // written by the database too, so both sides of the settle bound use the same clock
+    private static final String CHANGED_AFTER = """
+            SELECT e.employee_id, e.first_name, e.last_name, e.email, e.phone_number, e.department, e.position,
+                   e.hire_date, e.salary, r.role_id, r.name AS role_name, e.created_at, e.updated_at, e.deleted_at
+            FROM employees e
+            JOIN roles r ON r.role_id = e.role_id
+            WHERE (e.updated_at, e.employee_id) > (:since, :afterId)
+              AND e.updated_at <= CAST(statement_timestamp() AS timestamp) - :settleMs * INTERVAL '1 millisecond'
+            ORDER BY e.updated_at, e.employee_id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    EmployeeQueriesImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<EmployeeChange> findChangedAfter(LocalDateTime since, long afterId, long settleMs, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("since", Timestamp.valueOf(since))
+                .addValue("afterId", afterId)
+                .addValue("settleMs", settleMs)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(CHANGED_AFTER, parameters, (rs, rowNum) -> {
+            Long employeeId = rs.getLong("employee_id");
+            LocalDateTime updatedAt = rs.getObject("updated_at", LocalDateTime.class);
+            if (rs.getObject("deleted_at") != null) {
+                return new EmployeeChange(employeeId, updatedAt, true, null);
+            }
+
+            EmployeeView employee = new EmployeeView(
+                    employeeId,
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("email"),
+                    rs.getString("phone_number"),
+                    rs.getString("department"),
+                    rs.getString("position"),
+                    rs.getObject("hire_date", LocalDate.class),
+                    rs.getObject("salary", Double.class),
+                    rs.getLong("role_id"),
+                    rs.getString("role_name"),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    updatedAt);
+            return new EmployeeChange(employeeId, updatedAt, false, employee);
+        });
+    }
+}
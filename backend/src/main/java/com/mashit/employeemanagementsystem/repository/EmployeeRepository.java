@@ -1,17 +1,35 @@
 package com.mashit.employeemanagementsystem.repository;
 
+import com.mashit.employeemanagementsystem.dto.EmployeeView;
 import com.mashit.employeemanagementsystem.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeQueries {
 
+    String EMPLOYEE_VIEW = "SELECT new com.mashit.employeemanagementsystem.dto.EmployeeView(" +
+            "e.employeeId, e.firstName, e.lastName, e.email, e.phoneNumber, e.department, e.position, " +
+            "e.hireDate, e.salary, r.roleId, r.name, e.createdAt, e.updatedAt) " +
+            "FROM Employee e JOIN e.role r ";
+
+    @Override
+    @EntityGraph(attributePaths = "role")
+    Optional<Employee> findById(Long id);
+
+    @EntityGraph(attributePaths = "role")
     Optional<Employee> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -23,4 +41,23 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
             "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Employee> searchByName(@Param("name") String name);
-}
\ No newline at end of file
+
+    @Query(EMPLOYEE_VIEW + "WHERE " +
+            "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+            "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY e.employeeId")
+    List<EmployeeView> searchViewsByName(@Param("name") String name, Limit limit);
+
+    @Query(EMPLOYEE_VIEW + "WHERE e.employeeId > :afterId ORDER BY e.employeeId")
+    List<EmployeeView> findViewPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(EMPLOYEE_VIEW + "WHERE e.employeeId IN :ids")
+    List<EmployeeView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(EMPLOYEE_VIEW + "ORDER BY e.employeeId")
+    Stream<EmployeeView> streamAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Employee e ORDER BY e.employeeId")
+    Stream<Employee> streamAll();
+}
@@ -0,0 +1,15 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.entity.ImportJobError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    List<ImportJobError> findTop100ByJobIdOrderByRowNumber(Long jobId);
+
+    long countByJobId(Long jobId);
+}
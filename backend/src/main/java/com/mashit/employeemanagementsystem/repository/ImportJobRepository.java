@@ -0,0 +1,62 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.entity.ImportJob;
+import com.mashit.employeemanagementsystem.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findTop50ByOrderByIdDesc();
+
+    long countByStatus(ImportJobStatus status);
+
+    /**
+     * Lock the oldest queued job so two workers never claim the same one
+     */
+    @Query(value = "SELECT id FROM import_jobs WHERE status = 'QUEUED' ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<Long> findNextQueuedId();
+
+    /**
+     * Marks the owner's running jobs alive, using the database clock so instances never compare their own clocks.
+     * heartbeat_at is a timestamptz, so the session time zone of each instance does not matter either.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE import_jobs SET heartbeat_at = now() WHERE owner = :owner AND status = 'RUNNING'",
+            nativeQuery = true)
+    int heartbeat(@Param("owner") String owner);
+
+    /**
+     * Queue again the running jobs whose owner has not sent a heartbeat for staleMs
+     */
+    @Modifying
+    @Query(value = "UPDATE import_jobs SET status = 'QUEUED', owner = NULL WHERE status = 'RUNNING' " +
+            "AND (heartbeat_at IS NULL OR heartbeat_at < now() - :staleMs * interval '1 millisecond')",
+            nativeQuery = true)
+    int requeueStale(@Param("staleMs") long staleMs);
+
+    @Modifying
+    @Query(value = "UPDATE import_jobs SET status = 'QUEUED', owner = NULL WHERE id = :id AND owner = :owner",
+            nativeQuery = true)
+    int release(@Param("id") Long id, @Param("owner") String owner);
+
+    /**
+     * Zero when the job is no longer owned by the caller, who then has to stop working on it
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.processedRows = j.processedRows + :rows, " +
+            "j.importedRows = j.importedRows + :imported, j.failedRows = j.failedRows + :failed, " +
+            "j.updatedAt = :now, j.heartbeatAt = instant WHERE j.id = :id AND j.owner = :owner")
+    int advanceCheckpoint(@Param("id") Long id, @Param("owner") String owner, @Param("rows") long rows,
+                          @Param("imported") long imported, @Param("failed") long failed,
+                          @Param("now") LocalDateTime now);
+}
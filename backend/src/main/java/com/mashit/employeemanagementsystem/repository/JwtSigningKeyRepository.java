@@ -0,0 +1,15 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.entity.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JwtSigningKey k SET k.active = false WHERE k.active = true")
+    int deactivateAll();
+}
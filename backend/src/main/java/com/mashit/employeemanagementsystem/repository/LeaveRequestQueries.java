@@ -0,0 +1,36 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.calendar.LeaveEntry;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestFilter;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestPage;
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Leave request lists filtered by any combination of criteria, built at runtime
+ * so each request only carries the predicates it needs
+ */
+public interface LeaveRequestQueries {
+
+    /**
+     * Keyset page ordered by the sort property then id, both in the order's direction,
+     * starting after the cursor of the previous page. Sortable properties: id,
+     * startDate, endDate, status, employee (last name), department.
+     */
+    LeaveRequestPage findViews(LeaveRequestFilter filter, Sort.Order order, String after, int size);
+
+    /**
+     * Ids matching the filter in id order, at most limit of them
+     */
+    List<Long> findIds(LeaveRequestFilter filter, int limit);
+
+    /**
+     * Moves every listed request currently in one of the from statuses to the
+     * target in a single UPDATE, returning the rows that changed. Requests in any
+     * other status, including ones changed concurrently, are left alone.
+     */
+    List<LeaveEntry> transitionStatus(Collection<Long> ids, Collection<LeaveStatus> from, LeaveStatus to);
+}
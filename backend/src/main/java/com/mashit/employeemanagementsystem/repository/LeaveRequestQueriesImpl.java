@@ -0,0 +1,205 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.calendar.LeaveEntry;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestFilter;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestPage;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestView;
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import com.mashit.employeemanagementsystem.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+class LeaveRequestQueriesImpl implements LeaveRequestQueries {
+
+    private static final String TRANSITION_STATUS = """
+            UPDATE leave_requests lr SET status = :to, version = lr.version + 1
+            FROM employees e
+            WHERE e.employee_id = lr.employee_id AND lr.id IN (:ids) AND lr.status IN (:from)
+            RETURNING lr.id, lr.employee_id, e.department, lr.start_date, lr.end_date, lr.status
+            """;
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    LeaveRequestQueriesImpl(EntityManager entityManager, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public LeaveRequestPage findViews(LeaveRequestFilter filter, Sort.Order order, String after, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LeaveRequestView> query = cb.createQuery(LeaveRequestView.class);
+        Root<LeaveRequest> lr = query.from(LeaveRequest.class);
+        Join<LeaveRequest, Employee> e = lr.join("employee");
+        Join<Employee, Role> r = e.join("role");
+
+        query.select(cb.construct(LeaveRequestView.class,
+                lr.get("id"), lr.get("startDate"), lr.get("endDate"), lr.get("status"),
+                e.get("employeeId"), e.get("firstName"), e.get("lastName"), e.get("email"),
+                e.get("department"), e.get("position"), r.get("roleId"), r.get("name")));
+
+        SortKey<?> sortKey = sortKey(order.getProperty(), cb, lr, e);
+        String sort = order.getProperty() + "," + (order.isAscending() ? "asc" : "desc");
+
+        List<Predicate> predicates = new ArrayList<>(List.of(predicates(cb, lr, e, filter)));
+        if (after != null) {
+            predicates.add(sortKey.after(cb, lr.get("id"), decodeCursor(after, sort), order.isAscending()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        // Ties are broken by id in the same direction, so a cursor is one (sort key, id) comparison
+        query.orderBy(order.isAscending()
+                ? List.of(cb.asc(sortKey.expression()), cb.asc(lr.get("id")))
+                : List.of(cb.desc(sortKey.expression()), cb.desc(lr.get("id"))));
+
+        // Fetch one extra row to know whether another page exists
+        List<LeaveRequestView> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        if (rows.size() <= size) {
+            return new LeaveRequestPage(rows, null);
+        }
+        LeaveRequestView last = rows.get(size - 1);
+        return new LeaveRequestPage(rows.subList(0, size), encodeCursor(sort, last.getId(), sortKey.valueOf(last)));
+    }
+
+    @Override
+    public List<Long> findIds(LeaveRequestFilter filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<LeaveRequest> lr = query.from(LeaveRequest.class);
+        Join<LeaveRequest, Employee> e = lr.join("employee");
+
+        query.select(lr.get("id"))
+                .where(predicates(cb, lr, e, filter))
+                .orderBy(cb.asc(lr.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<LeaveEntry> transitionStatus(Collection<Long> ids, Collection<LeaveStatus> from, LeaveStatus to) {
+        if (ids.isEmpty() || from.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("from", from.stream().map(Enum::name).toList())
+                .addValue("to", to.name());
+
+        return jdbcTemplate.query(TRANSITION_STATUS, params, (rs, rowNum) -> new LeaveEntry(
+                rs.getLong("id"),
+                rs.getLong("employee_id"),
+                rs.getString("department"),
+                rs.getObject("start_date", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class),
+                LeaveStatus.valueOf(rs.getString("status"))));
+    }
+
+    private static SortKey<?> sortKey(String property, CriteriaBuilder cb, Root<LeaveRequest> lr,
+                                      Join<LeaveRequest, Employee> e) {
+        return switch (property) {
+            case "id" -> new SortKey<Long>(lr.get("id"), Long::valueOf, view -> view.getId().toString());
+            case "startDate" -> new SortKey<LocalDate>(lr.get("startDate"), LocalDate::parse,
+                    view -> view.getStartDate().toString());
+            case "endDate" -> new SortKey<LocalDate>(lr.get("endDate"), LocalDate::parse,
+                    view -> view.getEndDate().toString());
+            case "status" -> new SortKey<LeaveStatus>(lr.get("status"), LeaveStatus::valueOf,
+                    view -> view.getStatus().name());
+            case "employee" -> new SortKey<String>(e.get("lastName"), value -> value,
+                    view -> view.getEmployee().getLastName());
+            // Employees without a department sort first ascending, a null would never compare equal
+            case "department" -> new SortKey<String>(cb.coalesce(e.<String>get("department"), ""), value -> value,
+                    view -> Objects.toString(view.getEmployee().getDepartment(), ""));
+            default -> throw new IllegalArgumentException("Cannot sort leave requests by: " + property);
+        };
+    }
+
+    private static String encodeCursor(String sort, Long id, String value) {
+        String cursor = sort + CURSOR_SEPARATOR + id + CURSOR_SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The id and sort key of the cursor's row, which has to come from a page with the same sort
+    private static Cursor decodeCursor(String cursor, String sort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(CURSOR_SEPARATOR), 3);
+            if (parts.length == 3 && parts[0].equals(sort)) {
+                return new Cursor(Long.parseLong(parts[1]), parts[2]);
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor for sort " + sort + ": " + cursor);
+    }
+
+    private record Cursor(long id, String value) {
+    }
+
+    private record SortKey<Y extends Comparable<? super Y>>(Expression<Y> expression, Function<String, Y> parser,
+                                                            Function<LeaveRequestView, String> formatter) {
+
+        String valueOf(LeaveRequestView view) {
+            return formatter.apply(view);
+        }
+
+        // Rows after the cursor: a later sort key, or the same one and a later id
+        Predicate after(CriteriaBuilder cb, Expression<Long> id, Cursor cursor, boolean ascending) {
+            Y value;
+            try {
+                value = parser.apply(cursor.value());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor value: " + cursor.value());
+            }
+            Predicate laterKey = ascending ? cb.greaterThan(expression, value) : cb.lessThan(expression, value);
+            Predicate laterId = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            return cb.or(laterKey, cb.and(cb.equal(expression, value), laterId));
+        }
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<LeaveRequest> lr, Join<LeaveRequest, Employee> e,
+                                          LeaveRequestFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(lr.get("status"), filter.getStatus()));
+        }
+        if (filter.getEmployeeId() != null) {
+            predicates.add(cb.equal(e.get("employeeId"), filter.getEmployeeId()));
+        }
+        if (filter.getDepartment() != null) {
+            predicates.add(cb.equal(e.get("department"), filter.getDepartment()));
+        }
+        // Overlap: the request ends on or after the range start and starts on or before its end
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(lr.get("endDate"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(lr.get("startDate"), filter.getTo()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
@@ -1,22 +1,77 @@
 package com.mashit.employeemanagementsystem.repository;
 
+import com.mashit.employeemanagementsystem.calendar.LeaveEntry;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestView;
 import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long>, LeaveRequestQueries {
+
+    String LEAVE_REQUEST_VIEW = "SELECT new com.mashit.employeemanagementsystem.dto.LeaveRequestView(" +
+            "lr.id, lr.startDate, lr.endDate, lr.status, e.employeeId, e.firstName, e.lastName, e.email, " +
+            "e.department, e.position, r.roleId, r.name) " +
+            "FROM LeaveRequest lr JOIN lr.employee e JOIN e.role r ";
+
+    String LEAVE_ENTRY = "SELECT new com.mashit.employeemanagementsystem.calendar.LeaveEntry(" +
+            "lr.id, e.employeeId, e.department, lr.startDate, lr.endDate, lr.status) " +
+            "FROM LeaveRequest lr JOIN lr.employee e ";
+
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.role"})
+    Optional<LeaveRequest> findById(Long id);
 
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.employeeId = :employeeId")
     List<LeaveRequest> findByEmployeeId(@Param("employeeId") Long employeeId);
 
+    @Query("SELECT COUNT(lr) > 0 FROM LeaveRequest lr WHERE lr.employee.employeeId = :employeeId")
+    boolean existsByEmployeeId(@Param("employeeId") Long employeeId);
+
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.status = :status")
-    List<LeaveRequest> findByStatus(@Param("status") String status);
+    List<LeaveRequest> findByStatus(@Param("status") LeaveStatus status);
+
+    @Query("SELECT lr.id, lr.status FROM LeaveRequest lr WHERE lr.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(LEAVE_REQUEST_VIEW + "WHERE e.employeeId = :employeeId ORDER BY lr.id")
+    List<LeaveRequestView> findViewsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Query(LEAVE_REQUEST_VIEW + "WHERE lr.status = :status ORDER BY lr.id")
+    List<LeaveRequestView> findViewsByStatus(@Param("status") LeaveStatus status);
+
+    @Query(LEAVE_REQUEST_VIEW + "WHERE lr.id IN :ids ORDER BY lr.id")
+    List<LeaveRequestView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LEAVE_REQUEST_VIEW + "ORDER BY lr.id")
+    Stream<LeaveRequestView> streamAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LEAVE_ENTRY + "WHERE lr.status IN :statuses")
+    Stream<LeaveEntry> streamEntriesByStatusIn(@Param("statuses") Collection<LeaveStatus> statuses);
+
+    @Query(LEAVE_ENTRY + "WHERE lr.status IN :statuses AND lr.startDate <= :to AND lr.endDate >= :from " +
+            "ORDER BY lr.startDate, lr.id")
+    List<LeaveEntry> findEntriesOverlapping(@Param("statuses") Collection<LeaveStatus> statuses,
+                                            @Param("from") LocalDate from, @Param("to") LocalDate to);
 
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.status = 'PENDING'")
-    List<LeaveRequest> findPendingLeaveRequests();
-}
\ No newline at end of file
+    @Query(LEAVE_ENTRY + "WHERE e.employeeId = :employeeId AND lr.status IN :statuses " +
+            "AND lr.startDate <= :to AND lr.endDate >= :from ORDER BY lr.startDate, lr.id")
+    List<LeaveEntry> findEmployeeEntriesOverlapping(@Param("employeeId") Long employeeId,
+                                                    @Param("statuses") Collection<LeaveStatus> statuses,
+                                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,21 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Outbox writes and publication in plain SQL, batched and numbered in one statement
+ */
+public interface OutboxEventQueries {
+
+    void insertAll(List<OutboxEvent> events);
+
+    /**
+     * Numbers up to limit pending events in id order, continuing after the highest
+     * sequence so far, and returns them. Returns nothing while another relay holds
+     * the publication lock. Must run in a transaction.
+     */
+    List<ChangeEvent> publishPending(int limit);
+}
@@ -0,0 +1,84 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
+import com.mashit.employeemanagementsystem.entity.OutboxEvent;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+class OutboxEventQueriesImpl implements OutboxEventQueries {
+
+    // Arbitrary key shared by every instance, held until the relay transaction ends
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private static final String INSERT_EVENT = """
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, change_type, payload, occurred_at)
+            VALUES (:aggregateType, :aggregateId, :changeType, :payload, :occurredAt)
+            """;
+
+    // The subquery is evaluated once, so the batch continues the sequence without gaps
+    private static final String PUBLISH_PENDING = """
+            WITH batch AS (
+                SELECT id, row_number() OVER (ORDER BY id) AS rn
+                FROM outbox_events
+                WHERE sequence_number IS NULL
+                ORDER BY id
+                LIMIT :limit
+            )
+            UPDATE outbox_events o
+            SET sequence_number = (SELECT COALESCE(MAX(sequence_number), 0) FROM outbox_events) + batch.rn,
+                published_at = now()
+            FROM batch
+            WHERE o.id = batch.id
+            RETURNING o.sequence_number, o.aggregate_type, o.aggregate_id, o.change_type, o.occurred_at, o.payload
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    OutboxEventQueriesImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<OutboxEvent> events) {
+        SqlParameterSource[] batch = new SqlParameterSource[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("aggregateType", event.getAggregateType().name())
+                    .addValue("aggregateId", event.getAggregateId())
+                    .addValue("changeType", event.getChangeType().name())
+                    .addValue("payload", event.getPayload())
+                    .addValue("occurredAt", Timestamp.valueOf(event.getOccurredAt()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, batch);
+    }
+
+    @Override
+    public List<ChangeEvent> publishPending(int limit) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:key)",
+                new MapSqlParameterSource("key", RELAY_LOCK_KEY), Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return List.of();
+        }
+
+        List<ChangeEvent> events = jdbcTemplate.query(PUBLISH_PENDING, new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> new ChangeEvent(
+                        rs.getLong("sequence_number"),
+                        AggregateType.valueOf(rs.getString("aggregate_type")),
+                        rs.getLong("aggregate_id"),
+                        ChangeType.valueOf(rs.getString("change_type")),
+                        rs.getObject("occurred_at", LocalDateTime.class),
+                        rs.getString("payload")));
+
+        // RETURNING does not promise any order
+        return events.stream().sorted(Comparator.comparing(ChangeEvent::getSequence)).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mashit.employeemanagementsystem.repository;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventQueries {
+
+    String CHANGE_EVENT = "SELECT new com.mashit.employeemanagementsystem.dto.ChangeEvent(" +
+            "o.sequence, o.aggregateType, o.aggregateId, o.changeType, o.occurredAt, o.payload) " +
+            "FROM OutboxEvent o ";
+
+    @Query(CHANGE_EVENT + "WHERE o.sequence > :since ORDER BY o.sequence")
+    List<ChangeEvent> findPublishedAfter(@Param("since") long since, Limit limit);
+
+    @Query("SELECT MAX(o.sequence) FROM OutboxEvent o")
+    Optional<Long> findLatestSequence();
+
+    /**
+     * Keeps the newest published event whatever its age, so numbering continues
+     * after it
+     */
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE published_at < :cutoff " +
+            "AND sequence_number < (SELECT MAX(sequence_number) FROM outbox_events)", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,17 +1,34 @@
 package com.mashit.employeemanagementsystem.repository;
 
+import com.mashit.employeemanagementsystem.dto.UserView;
 import com.mashit.employeemanagementsystem.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String USER_VIEW = "SELECT new com.mashit.employeemanagementsystem.dto.UserView(" +
+            "u.id, u.username, u.enabled, e.employeeId, e.firstName, e.lastName, e.email, e.department, " +
+            "e.position, r.roleId, r.name) " +
+            "FROM User u JOIN u.employee e JOIN e.role r ";
+
+    @Override
+    @EntityGraph(attributePaths = {"employee", "employee.role"})
+    Optional<User> findById(Long id);
+
+    @EntityGraph(attributePaths = {"employee", "employee.role"})
     Optional<User> findByUsername(String username);
 
     @Query("SELECT u FROM User u WHERE u.employee.employeeId = :employeeId")
@@ -22,7 +39,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.enabled = true")
     List<User> findAllActiveUsers();
 
+    @Query(USER_VIEW + "ORDER BY u.id")
+    List<UserView> findAllViews();
+
+    @Query(USER_VIEW + "WHERE u.enabled = true ORDER BY u.id")
+    List<UserView> findActiveViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(USER_VIEW + "ORDER BY u.id")
+    Stream<UserView> streamAllViews();
+
+    @EntityGraph(attributePaths = {"employee", "employee.role"})
     @Query("SELECT u FROM User u WHERE u.employee.email = :email")
     Optional<User> findByEmployeeEmail(@Param("email") String email);
 
+    @Query("SELECT u.id, u.tokenVersion FROM User u")
+    List<Object[]> findTokenVersions();
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.employee.employeeId IN " +
+            "(SELECT e.employeeId FROM Employee e WHERE e.role.roleId = :roleId)")
+    int incrementTokenVersionsByRoleId(@Param("roleId") Long roleId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
 }
\ No newline at end of file
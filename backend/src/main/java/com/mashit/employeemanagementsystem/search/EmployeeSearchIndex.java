@@ -0,0 +1,441 @@
+package com.mashit.employeemanagementsystem.search;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over employee names, email, department and position.
+ * Query tokens match indexed terms exactly, by prefix, or within a small edit
+ * distance, and every query token has to match for an employee to be returned.
+ */
+@Component
+@Slf4j
+public class EmployeeSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float EMAIL_WEIGHT = 2.0f;
+    private static final float OTHER_WEIGHT = 1.0f;
+
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.6f;
+    private static final float FUZZY_MATCH = 0.4f;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MAX_FUZZY_CANDIDATES = 512;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Internal document ids are dense and append-only, a null slot marks a removed employee
+    private final List<Long> employeeIds = new ArrayList<>();
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, List<String>> termsByBigram = new HashMap<>();
+    private int removedDocs;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+        log.info("Employee search index ready: {} employees, {} terms", size(), terms.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            employeeIds.clear();
+            docIds.clear();
+            terms.clear();
+            termsByBigram.clear();
+            removedDocs = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add the employee, replacing any previously indexed version of it
+     */
+    public void index(Employee employee) {
+        Map<String, Float> documentTerms = new HashMap<>();
+        addTerms(documentTerms, employee.getFirstName(), NAME_WEIGHT);
+        addTerms(documentTerms, employee.getLastName(), NAME_WEIGHT);
+        addTerms(documentTerms, employee.getEmail(), EMAIL_WEIGHT);
+        addTerms(documentTerms, employee.getDepartment(), OTHER_WEIGHT);
+        addTerms(documentTerms, employee.getPosition(), OTHER_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(employee.getEmployeeId());
+
+            int docId = employeeIds.size();
+            employeeIds.add(employee.getEmployeeId());
+            docIds.put(employee.getEmployeeId(), docId);
+
+            documentTerms.forEach((term, weight) -> terms.computeIfAbsent(term, this::newTerm).add(docId, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(employeeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Employee ids best matching the query, highest score first
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Float>> matches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Map<String, Float> tokenMatches = matchTerms(token);
+                if (tokenMatches.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(tokenMatches);
+            }
+            // Start from the most selective token so fewer documents are touched
+            matches.sort(Comparator.comparingLong(this::postingCount));
+
+            return score(matches, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> score(List<Map<String, Float>> matches, int limit) {
+        // Only documents matching the first, most selective token can be returned
+        Accumulator scores = new Accumulator(postingCount(matches.get(0)));
+
+        for (int t = 0; t < matches.size(); t++) {
+            for (Map.Entry<String, Float> match : matches.get(t).entrySet()) {
+                Postings postings = terms.get(match.getKey());
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.docs[i];
+                    if (employeeIds.get(doc) == null) {
+                        continue;
+                    }
+                    int slot = t == 0 ? scores.slotFor(doc) : scores.find(doc);
+                    // Only documents that matched every earlier token stay in the running
+                    if (slot < 0 || scores.matched[slot] != t) {
+                        continue;
+                    }
+                    scores.matched[slot] = t + 1;
+                    scores.scores[slot] += match.getValue() * postings.weights[i];
+                }
+            }
+        }
+
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                Comparator.<Integer>comparingDouble(slot -> scores.scores[slot])
+                        .thenComparing(slot -> -employeeIds.get(scores.docs[slot])));
+        for (int slot = 0; slot < scores.docs.length; slot++) {
+            if (scores.docs[slot] != Accumulator.EMPTY && scores.matched[slot] == matches.size()) {
+                top.offer(slot);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        Long[] result = new Long[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = employeeIds.get(scores.docs[top.poll()]);
+        }
+        return Arrays.asList(result);
+    }
+
+    private Map<String, Float> matchTerms(String token) {
+        Map<String, Float> matches = new LinkedHashMap<>();
+
+        if (terms.containsKey(token)) {
+            matches.put(token, EXACT_MATCH);
+        }
+
+        NavigableMap<String, Postings> prefixed = terms.subMap(token, false, token + Character.MAX_VALUE, false);
+        for (String term : prefixed.keySet()) {
+            if (matches.size() >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            matches.put(term, PREFIX_MATCH);
+        }
+
+        // Typo tolerance only kicks in when nothing matched literally
+        if (matches.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            for (String candidate : fuzzyCandidates(token)) {
+                if (editDistance(token, candidate, maxEdits) <= maxEdits) {
+                    matches.put(candidate, FUZZY_MATCH);
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    private Set<String> fuzzyCandidates(String token) {
+        Map<String, Integer> shared = new HashMap<>();
+        for (String bigram : bigrams(token)) {
+            for (String term : termsByBigram.getOrDefault(bigram, List.of())) {
+                if (Math.abs(term.length() - token.length()) <= 2) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        shared.entrySet().stream()
+                .filter(entry -> entry.getValue() >= 2)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(MAX_FUZZY_CANDIDATES)
+                .forEach(entry -> candidates.add(entry.getKey()));
+        return candidates;
+    }
+
+    private long postingCount(Map<String, Float> matches) {
+        long count = 0;
+        for (String term : matches.keySet()) {
+            count += terms.get(term).size;
+        }
+        return count;
+    }
+
+    private Postings newTerm(String term) {
+        for (String bigram : bigrams(term)) {
+            termsByBigram.computeIfAbsent(bigram, key -> new ArrayList<>()).add(term);
+        }
+        return new Postings();
+    }
+
+    private void removeInternal(Long employeeId) {
+        Integer docId = docIds.remove(employeeId);
+        if (docId == null) {
+            return;
+        }
+
+        employeeIds.set(docId, null);
+        removedDocs++;
+
+        if (removedDocs > 1000 && removedDocs > employeeIds.size() / 4) {
+            compact();
+        }
+    }
+
+    /**
+     * Drop removed documents from every posting list and renumber the survivors
+     */
+    private void compact() {
+        int[] remap = new int[employeeIds.size()];
+        List<Long> survivors = new ArrayList<>(docIds.size());
+        for (int doc = 0; doc < employeeIds.size(); doc++) {
+            Long employeeId = employeeIds.get(doc);
+            remap[doc] = employeeId != null ? survivors.size() : -1;
+            if (employeeId != null) {
+                docIds.put(employeeId, survivors.size());
+                survivors.add(employeeId);
+            }
+        }
+
+        terms.values().removeIf(postings -> postings.compact(remap) == 0);
+        termsByBigram.values().forEach(list -> list.removeIf(term -> !terms.containsKey(term)));
+        termsByBigram.values().removeIf(List::isEmpty);
+
+        employeeIds.clear();
+        employeeIds.addAll(survivors);
+        removedDocs = 0;
+    }
+
+    private static void addTerms(Map<String, Float> documentTerms, String value, float weight) {
+        for (String term : tokenize(value)) {
+            documentTerms.merge(term, weight, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static List<String> bigrams(String term) {
+        String padded = "^" + term + "$";
+        List<String> bigrams = new ArrayList<>(padded.length() - 1);
+        for (int i = 0; i < padded.length() - 1; i++) {
+            bigrams.add(padded.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    /**
+     * Optimal string alignment distance, giving up as soon as it exceeds the limit
+     */
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+        private float[] weights = new float[2];
+        private int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        int compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * Scores of the documents a query touched, in an open addressing table sized to
+     * the candidates rather than the index, so a query allocates little and nothing
+     * is kept between queries
+     */
+    private static final class Accumulator {
+
+        static final int EMPTY = -1;
+
+        private final int[] docs;
+        private final float[] scores;
+        private final int[] matched;
+        private final int mask;
+
+        Accumulator(long expectedDocs) {
+            int capacity = Integer.highestOneBit((int) Math.min(Math.max(expectedDocs, 4), 1 << 29) * 2 - 1) << 1;
+            docs = new int[capacity];
+            Arrays.fill(docs, EMPTY);
+            scores = new float[capacity];
+            matched = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        // The slot holding the document, claiming a free one if it is new
+        int slotFor(int doc) {
+            int slot = hash(doc);
+            while (docs[slot] != doc && docs[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            docs[slot] = doc;
+            return slot;
+        }
+
+        // The slot holding the document, or -1
+        int find(int doc) {
+            int slot = hash(doc);
+            while (docs[slot] != EMPTY) {
+                if (docs[slot] == doc) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int hash(int doc) {
+            int h = doc * 0x9E3779B9;
+            return (h ^ h >>> 16) & mask;
+        }
+    }
+}
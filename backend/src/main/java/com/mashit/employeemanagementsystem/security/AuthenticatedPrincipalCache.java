@@ -0,0 +1,136 @@
+package com.mashit.employeemanagementsystem.security;
+
+import com.mashit.employeemanagementsystem.dto.CacheStatsResponse;
+import com.mashit.employeemanagementsystem.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache of principals whose JWT has already been verified, keyed by
+ * the token signature. An entry never outlives its token.
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+    private final int maxSize;
+    private final long maxTtlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AuthenticatedPrincipalCache(@Value("${jwt.principal-cache.max-size:10000}") int maxSize,
+                                       @Value("${jwt.principal-cache.ttl:300000}") long maxTtlMillis) {
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > AuthenticatedPrincipalCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public UserDetails get(String token) {
+        String key = keyOf(token);
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.incrementAndGet();
+                return entry.principal;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String token, UserDetails principal, Date tokenExpiration) {
+        long expiresAt = Math.min(tokenExpiration.getTime(), System.currentTimeMillis() + maxTtlMillis);
+
+        synchronized (entries) {
+            entries.put(keyOf(token), new Entry(principal, expiresAt));
+        }
+    }
+
+    /**
+     * Drop every cached principal for the username, now and again once the
+     * surrounding transaction commits so a concurrent reload cannot re-cache stale state
+     */
+    public void invalidateUser(String username) {
+        invalidateWhere(principal -> principal.getUsername().equals(username));
+    }
+
+    public void invalidateEmployee(Long employeeId) {
+        invalidateWhere(principal -> principal instanceof CustomUserDetails details
+                && employeeId.equals(details.getEmployeeId()));
+    }
+
+    public void invalidateAll() {
+        invalidateWhere(principal -> true);
+    }
+
+    public CacheStatsResponse getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return new CacheStatsResponse(
+                size,
+                maxSize,
+                hitCount,
+                missCount,
+                evictions.get(),
+                invalidations.get(),
+                total == 0 ? 0.0 : (double) hitCount / total
+        );
+    }
+
+    private void invalidateWhere(Predicate<UserDetails> predicate) {
+        removeMatching(predicate);
+        TransactionUtils.afterCommit(() -> removeMatching(predicate));
+    }
+
+    private void removeMatching(Predicate<UserDetails> predicate) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> {
+                if (predicate.test(entry.principal)) {
+                    invalidations.incrementAndGet();
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    private static String keyOf(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        return signatureStart >= 0 ? token.substring(signatureStart + 1) : token;
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -20,6 +20,7 @@ public class CustomUserDetails implements UserDetails {
     private Long employeeId;
     private String roleName;
     private Boolean enabled;
+    private Integer tokenVersion;
 
     public static CustomUserDetails build(User user) {
         return new CustomUserDetails(
@@ -28,7 +29,32 @@ public class CustomUserDetails implements UserDetails {
                 user.getPassword(),
                 user.getEmployee().getEmployeeId(),
                 user.getEmployee().getRole().getName(),
-                user.getEnabled()
+                user.getEnabled(),
+                user.getTokenVersion()
+        );
+    }
+
+    /**
+     * Rebuild the principal from a stateless token, or null when the token does not carry the identity claims
+     */
+    public static CustomUserDetails fromToken(JwtToken token) {
+        Long userId = token.getClaim(JwtUtil.CLAIM_USER_ID, Long.class);
+        Long employeeId = token.getClaim(JwtUtil.CLAIM_EMPLOYEE_ID, Long.class);
+        String roleName = token.getClaim(JwtUtil.CLAIM_ROLE, String.class);
+        Integer tokenVersion = token.getClaim(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+
+        if (userId == null || employeeId == null || roleName == null || tokenVersion == null) {
+            return null;
+        }
+
+        return new CustomUserDetails(
+                userId,
+                token.getSubject(),
+                null,
+                employeeId,
+                roleName,
+                true,
+                tokenVersion
         );
     }
 
@@ -4,6 +4,7 @@ import com.mashit.employeemanagementsystem.entity.User;
 import com.mashit.employeemanagementsystem.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -23,4 +24,17 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return CustomUserDetails.build(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores a hash re-encoded with the current algorithm and cost after a
+     * successful login
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        CustomUserDetails details = (CustomUserDetails) user;
+        details.setPassword(newPassword);
+        return details;
+    }
+}
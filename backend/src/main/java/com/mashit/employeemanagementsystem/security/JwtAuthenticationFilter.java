@@ -1,10 +1,13 @@
 package com.mashit.employeemanagementsystem.security;
 
+import com.mashit.employeemanagementsystem.monitoring.AuthMetrics;
+import com.mashit.employeemanagementsystem.monitoring.AuthMetrics.Phase;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,6 +23,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final AuthMetrics authMetrics;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -29,12 +38,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
 
-            if (jwt != null && jwtUtil.extractUsername(jwt) != null) {
-                String username = jwtUtil.extractUsername(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (jwt != null) {
+                UserDetails userDetails = resolvePrincipal(jwt);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (userDetails != null && userDetails.isEnabled()) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -54,6 +61,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(String jwt) {
+        UserDetails cached = authMetrics.time(Phase.CACHE, () -> principalCache.get(jwt));
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtToken token = authMetrics.time(Phase.PARSE, () -> jwtUtil.parse(jwt));
+
+        if (stateless) {
+            CustomUserDetails principal = CustomUserDetails.fromToken(token);
+
+            if (principal != null) {
+                boolean revoked = authMetrics.time(Phase.VALIDATE,
+                        () -> revocationRegistry.isRevoked(principal.getUserId(), principal.getTokenVersion()));
+                return revoked ? null : principal;
+            }
+        }
+
+        if (token.getSubject() == null) {
+            return null;
+        }
+
+        UserDetails userDetails = authMetrics.time(Phase.LOOKUP,
+                () -> userDetailsService.loadUserByUsername(token.getSubject()));
+        if (!authMetrics.time(Phase.VALIDATE, () -> jwtUtil.validateToken(token, userDetails))) {
+            return null;
+        }
+
+        principalCache.put(jwt, userDetails, token.getExpiration());
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
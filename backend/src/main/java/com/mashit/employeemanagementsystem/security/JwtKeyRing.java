@@ -0,0 +1,128 @@
+package com.mashit.employeemanagementsystem.security;
+
+import com.mashit.employeemanagementsystem.entity.JwtSigningKey;
+import com.mashit.employeemanagementsystem.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HMAC signing keys addressed by the JWT "kid" header. New tokens are signed with
+ * the active key, while older keys stay available for verification until retired,
+ * so keys can be rotated without a restart. Besides the configured jwt.secret the
+ * keys live in the jwt_signing_keys table, which is reread every jwt.key-refresh-ms.
+ * Verification never touches the database: a kid that is not loaded is rejected,
+ * so a token signed with a key rotated on another instance only verifies here
+ * after the next refresh.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private final JwtSigningKeyRepository signingKeyRepository;
+    private final String defaultKeyId;
+    private final SecretKey defaultKey;
+    private volatile Map<String, SecretKey> keys = new ConcurrentHashMap<>();
+    private volatile String activeKeyId;
+
+    public JwtKeyRing(JwtSigningKeyRepository signingKeyRepository,
+                      @Value("${jwt.key-id:default}") String defaultKeyId,
+                      @Value("${jwt.secret}") String secret) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.defaultKeyId = defaultKeyId;
+        this.defaultKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        keys.put(defaultKeyId, defaultKey);
+        this.activeKeyId = defaultKeyId;
+    }
+
+    /**
+     * Replace the keys with the configured one and the stored ones. The stored
+     * active key signs new tokens, or the configured one when none is active.
+     */
+    public void load() {
+        Map<String, SecretKey> loaded = new ConcurrentHashMap<>();
+        loaded.put(defaultKeyId, defaultKey);
+        String active = defaultKeyId;
+        for (JwtSigningKey stored : signingKeyRepository.findAll()) {
+            loaded.put(stored.getKeyId(), decode(stored.getSecret()));
+            if (stored.isActive()) {
+                active = stored.getKeyId();
+            }
+        }
+
+        keys = loaded;
+        activeKeyId = active;
+        log.debug("Loaded {} JWT signing keys, active key id is {}", loaded.size(), active);
+    }
+
+    @Scheduled(initialDelayString = "${jwt.key-refresh-ms:5000}", fixedDelayString = "${jwt.key-refresh-ms:5000}")
+    public void refresh() {
+        load();
+    }
+
+    /**
+     * Called once the key is stored
+     */
+    public void put(String keyId, String secret, boolean activate) {
+        keys.put(keyId, decode(secret));
+        if (activate) {
+            activeKeyId = keyId;
+        }
+    }
+
+    /**
+     * Sign new tokens with the configured key again, called once no stored key is active
+     */
+    public void activateDefault() {
+        activeKeyId = defaultKeyId;
+    }
+
+    /**
+     * Called once the key is deleted
+     */
+    public void remove(String keyId) {
+        keys.remove(keyId);
+    }
+
+    public String getDefaultKeyId() {
+        return defaultKeyId;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getKey(String keyId) {
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    public Set<String> getKeyIds() {
+        return Set.copyOf(keys.keySet());
+    }
+
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        // Tokens issued before key ids were introduced carry no kid
+        return getKey(header.getKeyId() != null ? header.getKeyId() : defaultKeyId);
+    }
+
+    private static SecretKey decode(String secret) {
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+    }
+}
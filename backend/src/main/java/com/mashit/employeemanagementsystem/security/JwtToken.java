@@ -0,0 +1,51 @@
+package com.mashit.employeemanagementsystem.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a token whose signature has already been verified
+ */
+@Getter
+public final class JwtToken {
+
+    private final String keyId;
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    JwtToken(String keyId, Claims claims) {
+        this.keyId = keyId;
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        if (value == null) {
+            return null;
+        }
+        // JSON numbers come back as the narrowest type, widen them on request
+        if (value instanceof Number number && !type.isInstance(value)) {
+            if (type == Long.class) {
+                return type.cast(number.longValue());
+            }
+            if (type == Integer.class) {
+                return type.cast(number.intValue());
+            }
+        }
+        return type.cast(value);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
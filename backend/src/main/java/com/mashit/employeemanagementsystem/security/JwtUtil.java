@@ -1,14 +1,13 @@
 package com.mashit.employeemanagementsystem.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,40 +16,46 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMPLOYEE_ID = "eid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final long expiration;
+
+    public JwtUtil(JwtKeyRing keyRing, @Value("${jwt.expiration}") long expiration) {
+        this.keyRing = keyRing;
+        this.expiration = expiration;
+        // Thread-safe and immutable, the key ring resolves the verification key per token
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+    }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verify the signature and expiry once and return everything the caller needs from the token
+     */
+    public JwtToken parse(String token) {
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        return new JwtToken(jws.getHeader().getKeyId(), jws.getPayload());
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parse(token).getSubject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return parse(token).getExpiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(extractAllClaims(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -62,21 +67,38 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Token carrying everything needed to rebuild the principal without a database lookup
+     */
+    public String generateStatelessToken(CustomUserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userDetails.getUserId());
+        claims.put(CLAIM_EMPLOYEE_ID, userDetails.getEmployeeId());
+        claims.put(CLAIM_ROLE, userDetails.getRoleName());
+        claims.put(CLAIM_TOKEN_VERSION, userDetails.getTokenVersion());
+        return createToken(claims, userDetails.getUsername());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
+        String keyId = keyRing.getActiveKeyId();
 
         return Jwts.builder()
+                .header().keyId(keyId).and()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(keyRing.getKey(keyId))
                 .compact();
     }
 
+    public boolean validateToken(JwtToken token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpired();
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parse(token), userDetails);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.mashit.employeemanagementsystem.security;
+
+import com.mashit.employeemanagementsystem.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets per username and per client IP, checked before a login reaches
+ * the password hashing pool. Each bucket holds a minute's allowance and refills
+ * continuously; idle buckets are dropped once they are full again.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Bucket> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+    private final int usernamePerMinute;
+    private final int ipPerMinute;
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.login.rate-limit.username-per-minute:10}") int usernamePerMinute,
+                            @Value("${app.login.rate-limit.ip-per-minute:60}") int ipPerMinute) {
+        this.usernamePerMinute = usernamePerMinute;
+        this.ipPerMinute = ipPerMinute;
+        this.usernameRejections = Counter.builder("auth.login.rate_limited").tag("key", "username")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.rate_limited").tag("key", "ip").register(meterRegistry);
+    }
+
+    public void check(String username, String clientIp) {
+        if (clientIp != null && ipPerMinute > 0) {
+            long waitNanos = ipBuckets.computeIfAbsent(clientIp, key -> new Bucket(ipPerMinute)).tryConsume();
+            if (waitNanos > 0) {
+                ipRejections.increment();
+                throw rejected(waitNanos);
+            }
+        }
+
+        if (username != null && usernamePerMinute > 0) {
+            String key = username.trim().toLowerCase(Locale.ROOT);
+            long waitNanos = usernameBuckets.computeIfAbsent(key, k -> new Bucket(usernamePerMinute)).tryConsume();
+            if (waitNanos > 0) {
+                usernameRejections.increment();
+                throw rejected(waitNanos);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        usernameBuckets.values().removeIf(Bucket::isFull);
+        ipBuckets.values().removeIf(Bucket::isFull);
+    }
+
+    private static TooManyRequestsException rejected(long waitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException("Too many login attempts, try again later", retryAfter);
+    }
+
+    private static final class Bucket {
+
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(int capacity) {
+            this.capacity = capacity;
+            this.tokensPerNano = (double) capacity / WINDOW_NANOS;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * Take one token, or return how long until one is available
+         */
+        synchronized long tryConsume() {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        synchronized boolean isFull() {
+            refill();
+            return tokens >= capacity;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.mashit.employeemanagementsystem.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the delegating password encoder. New hashes use the configured
+ * algorithm, prefixed with its id; hashes of every supported algorithm keep
+ * verifying, and unprefixed hashes are read as BCrypt. With a target latency the
+ * chosen algorithm's cost is raised at startup until one hash takes about that
+ * long on this machine, never going below the configured cost.
+ */
+@Component
+@Slf4j
+public class PasswordEncoderFactory {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MAX_ARGON2_ITERATIONS = 20;
+    private static final int MAX_PBKDF2_ITERATIONS = 10_000_000;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-1";
+
+    private final String algorithm;
+    private final long targetMs;
+    private final int bcryptStrength;
+    private final int argon2MemoryKb;
+    private final int argon2Iterations;
+    private final int argon2Parallelism;
+    private final int pbkdf2Iterations;
+
+    public PasswordEncoderFactory(@Value("${app.password-hashing.algorithm:bcrypt}") String algorithm,
+                                  @Value("${app.password-hashing.target-ms:0}") long targetMs,
+                                  @Value("${app.password-hashing.bcrypt.strength:10}") int bcryptStrength,
+                                  @Value("${app.password-hashing.argon2.memory-kb:19456}") int argon2MemoryKb,
+                                  @Value("${app.password-hashing.argon2.iterations:2}") int argon2Iterations,
+                                  @Value("${app.password-hashing.argon2.parallelism:1}") int argon2Parallelism,
+                                  @Value("${app.password-hashing.pbkdf2.iterations:310000}") int pbkdf2Iterations) {
+        this.algorithm = algorithm.trim().toLowerCase(Locale.ROOT);
+        this.targetMs = targetMs;
+        this.bcryptStrength = bcryptStrength;
+        this.argon2MemoryKb = argon2MemoryKb;
+        this.argon2Iterations = argon2Iterations;
+        this.argon2Parallelism = argon2Parallelism;
+        this.pbkdf2Iterations = pbkdf2Iterations;
+
+        if (!this.algorithm.equals(BCRYPT) && !this.algorithm.equals(ARGON2) && !this.algorithm.equals(PBKDF2)) {
+            throw new IllegalArgumentException("Unsupported app.password-hashing.algorithm: " + algorithm);
+        }
+    }
+
+    public PasswordEncoder create() {
+        int strength = bcryptStrength;
+        int argon2Iters = argon2Iterations;
+        int pbkdf2Iters = pbkdf2Iterations;
+
+        if (targetMs > 0) {
+            switch (algorithm) {
+                case BCRYPT -> strength = calibrateBcrypt();
+                case ARGON2 -> argon2Iters = calibrateLinear(argon2Iterations, MAX_ARGON2_ITERATIONS, this::argon2);
+                case PBKDF2 -> pbkdf2Iters = calibrateLinear(pbkdf2Iterations, MAX_PBKDF2_ITERATIONS,
+                        Pbkdf2IterationsPasswordEncoder::new);
+                default -> throw new IllegalStateException(algorithm);
+            }
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, argon2(argon2Iters));
+        encoders.put(PBKDF2, new Pbkdf2IterationsPasswordEncoder(pbkdf2Iters));
+
+        PasswordEncoder active = encoders.get(algorithm);
+        log.info("Password hashing: {} ({}), {} ms per hash", algorithm, describe(strength, argon2Iters, pbkdf2Iters),
+                Math.round(measure(active)));
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before the prefix was introduced are plain BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    /**
+     * Each BCrypt strength step doubles the work, so step up from the configured
+     * strength by the nearest power of two to the target
+     */
+    private int calibrateBcrypt() {
+        double measured = measure(new BCryptPasswordEncoder(bcryptStrength));
+        int steps = (int) Math.round(Math.log(targetMs / measured) / Math.log(2));
+        return Math.min(MAX_BCRYPT_STRENGTH, bcryptStrength + Math.max(0, steps));
+    }
+
+    /**
+     * Argon2 and PBKDF2 scale linearly with their iteration count
+     */
+    private int calibrateLinear(int configured, int max, IntFunction<PasswordEncoder> encoder) {
+        double measured = measure(encoder.apply(configured));
+        long scaled = Math.round(configured * (targetMs / measured));
+        return (int) Math.min(max, Math.max(configured, scaled));
+    }
+
+    private PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKb, iterations);
+    }
+
+    /**
+     * Fastest of three runs after a warm-up, in milliseconds
+     */
+    private static double measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Math.max(best, 1) / 1_000_000.0;
+    }
+
+    private String describe(int strength, int argon2Iters, int pbkdf2Iters) {
+        return switch (algorithm) {
+            case BCRYPT -> "strength " + strength;
+            case ARGON2 -> "m=" + argon2MemoryKb + "KB, t=" + argon2Iters + ", p=" + argon2Parallelism;
+            default -> pbkdf2Iters + " iterations";
+        };
+    }
+}
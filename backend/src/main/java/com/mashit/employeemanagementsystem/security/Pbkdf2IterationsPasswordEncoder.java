@@ -0,0 +1,65 @@
+package com.mashit.employeemanagementsystem.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PBKDF2 hashes do not record their iteration count, so it is stored in front of
+ * the hash ({@code 310000$<hex>}). Older hashes keep verifying after the count is
+ * raised and are reported for upgrade.
+ */
+public class Pbkdf2IterationsPasswordEncoder implements PasswordEncoder {
+
+    private static final int SALT_LENGTH = 16;
+
+    private final int iterations;
+    private final Map<Integer, Pbkdf2PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+    public Pbkdf2IterationsPasswordEncoder(int iterations) {
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + "$" + encoderFor(iterations).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        int storedIterations = iterationsOf(encodedPassword);
+        if (storedIterations <= 0) {
+            return false;
+        }
+        String hash = encodedPassword.substring(encodedPassword.indexOf('$') + 1);
+        return encoderFor(storedIterations).matches(rawPassword, hash);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return iterationsOf(encodedPassword) < iterations;
+    }
+
+    private Pbkdf2PasswordEncoder encoderFor(int count) {
+        return encoders.computeIfAbsent(count, c ->
+                new Pbkdf2PasswordEncoder("", SALT_LENGTH, c, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+    }
+
+    private static int iterationsOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        int separator = encodedPassword.indexOf('$');
+        if (separator <= 0) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mashit.employeemanagementsystem.security;
+
+import com.mashit.employeemanagementsystem.entity.User;
+import com.mashit.employeemanagementsystem.repository.UserRepository;
+import com.mashit.employeemanagementsystem.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimum accepted token version per user, for validating stateless tokens
+ * without a lookup. The users table is the source of truth: the copy is
+ * reloaded every jwt.revocation-refresh-ms, so a revocation made on another
+ * instance is seen within that interval. Changes made here are applied once
+ * their transaction commits. A user id with no users row, such as a deleted
+ * user's, is never accepted.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    // Recorded for users that have no row, tokens of theirs are always rejected
+    private static final int NO_USER = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final boolean stateless;
+    private volatile Map<Long, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+    public TokenRevocationRegistry(UserRepository userRepository,
+                                   @Value("${jwt.stateless:false}") boolean stateless) {
+        this.userRepository = userRepository;
+        this.stateless = stateless;
+    }
+
+    public void load() {
+        List<Object[]> versions = userRepository.findTokenVersions();
+        Map<Long, Integer> loaded = new ConcurrentHashMap<>(versions.size() * 2);
+        for (Object[] row : versions) {
+            loaded.put((Long) row[0], (Integer) row[1]);
+        }
+
+        // A revocation committed after the query above must not be undone by the swap
+        Map<Long, Integer> previous = minimumVersions;
+        minimumVersions = loaded;
+        previous.forEach((userId, version) -> loaded.computeIfPresent(userId, (id, v) -> Math.max(v, version)));
+        log.debug("Loaded token versions for {} users", versions.size());
+    }
+
+    @Scheduled(initialDelayString = "${jwt.revocation-refresh-ms:5000}",
+            fixedDelayString = "${jwt.revocation-refresh-ms:5000}")
+    public void refresh() {
+        if (stateless) {
+            load();
+        }
+    }
+
+    public boolean isRevoked(Long userId, Integer tokenVersion) {
+        Integer minimum = minimumVersions.get(userId);
+        if (minimum == null) {
+            // Users created since the last load are looked up once, outside the map's locks
+            Integer loaded = userRepository.findTokenVersionById(userId).orElse(NO_USER);
+            Integer raced = minimumVersions.putIfAbsent(userId, loaded);
+            minimum = raced != null ? raced : loaded;
+        }
+        return tokenVersion < minimum;
+    }
+
+    /**
+     * Bump the user's token version so every token issued so far is rejected.
+     * The caller's transaction persists the new version.
+     */
+    public void revoke(User user) {
+        int version = user.getTokenVersion() + 1;
+        user.setTokenVersion(version);
+        Long userId = user.getId();
+        TransactionUtils.afterCommit(() -> minimumVersions.merge(userId, version, Math::max));
+    }
+
+    /**
+     * Bump the token version of every user whose employee holds the role, for a
+     * change to the role claim their tokens carry. Runs in the caller's
+     * transaction, the versions are reread once it commits.
+     */
+    public void revokeRole(Long roleId) {
+        int revoked = userRepository.incrementTokenVersionsByRoleId(roleId);
+        if (revoked > 0) {
+            TransactionUtils.afterCommit(this::load);
+        }
+    }
+
+    /**
+     * For a deleted user, whose tokens are rejected from now on
+     */
+    public void revokeAll(Long userId) {
+        TransactionUtils.afterCommit(() -> minimumVersions.put(userId, NO_USER));
+    }
+}
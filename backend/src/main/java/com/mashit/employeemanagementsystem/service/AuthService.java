@@ -3,15 +3,20 @@ package com.mashit.employeemanagementsystem.service;
 import com.mashit.employeemanagementsystem.dto.JwtResponse;
 import com.mashit.employeemanagementsystem.dto.LoginRequest;
 import com.mashit.employeemanagementsystem.dto.RegisterRequest;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
 import com.mashit.employeemanagementsystem.entity.Employee;
 import com.mashit.employeemanagementsystem.entity.User;
 import com.mashit.employeemanagementsystem.exception.DuplicateResourceException;
 import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import com.mashit.employeemanagementsystem.outbox.OutboxPublisher;
 import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
 import com.mashit.employeemanagementsystem.repository.UserRepository;
 import com.mashit.employeemanagementsystem.security.CustomUserDetails;
 import com.mashit.employeemanagementsystem.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -20,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed
 @RequiredArgsConstructor
 public class AuthService {
 
@@ -28,6 +34,10 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final OutboxPublisher outboxPublisher;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Transactional
     public JwtResponse register(RegisterRequest request) {
@@ -45,9 +55,10 @@ public class AuthService {
         user.setEnabled(true);
 
         User savedUser = userRepository.save(user);
+        outboxPublisher.publish(AggregateType.USER, savedUser.getId(), ChangeType.CREATED, savedUser);
 
         CustomUserDetails userDetails = CustomUserDetails.build(savedUser);
-        String token = jwtUtil.generateToken(userDetails);
+        String token = generateToken(userDetails);
 
         return new JwtResponse(
                 token,
@@ -67,7 +78,7 @@ public class AuthService {
         );
 
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        String token = jwtUtil.generateToken(userDetails);
+        String token = generateToken(userDetails);
 
         return new JwtResponse(
                 token,
@@ -77,4 +88,8 @@ public class AuthService {
                 userDetails.getRoleName()
         );
     }
+
+    private String generateToken(CustomUserDetails userDetails) {
+        return stateless ? jwtUtil.generateStatelessToken(userDetails) : jwtUtil.generateToken(userDetails);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,472 @@
+package com.mashit.employeemanagementsystem.service;
+
+import com.mashit.employeemanagementsystem.dto.EmployeeImportRow;
+import com.mashit.employeemanagementsystem.dto.ImportResult;
+import com.mashit.employeemanagementsystem.dto.ImportRowError;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.ImportFormat;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.outbox.OutboxPublisher;
+import com.mashit.employeemanagementsystem.search.EmployeeSearchIndex;
+import com.mashit.employeemanagementsystem.util.CsvReader;
+import com.mashit.employeemanagementsystem.util.TransactionUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk employee import. Rows are streamed from the request body, validated and
+ * inserted in chunks, each chunk in its own transaction with one set-based
+ * duplicate check, pre-allocated sequence ids and a single JDBC batch. A bad row
+ * is reported and skipped, it never aborts the import. A chunk the database
+ * rejects, e.g. for an email inserted concurrently, is retried one row per
+ * transaction so only the offending rows fail.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeImportService {
+
+    public static final int CHUNK_SIZE = 1000;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees " +
+            "(employee_id, first_name, last_name, email, phone_number, department, position, hire_date, salary, " +
+            "role_id, created_at, updated_at) VALUES (:employeeId, :firstName, :lastName, :email, :phoneNumber, " +
+            ":department, :position, :hireDate, :salary, :roleId, :createdAt, LOCALTIMESTAMP)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final RoleRegistry roleRegistry;
+    private final EmployeeSearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final OutboxPublisher outboxPublisher;
+
+    public ImportResult importCsv(InputStream in) {
+        try (ImportRecords records = readRecords(in, ImportFormat.CSV)) {
+            return importRows(records);
+        }
+    }
+
+    public ImportResult importJson(InputStream in) {
+        try (ImportRecords records = readRecords(in, ImportFormat.JSON)) {
+            return importRows(records);
+        }
+    }
+
+    /**
+     * Rows as they are read, to be closed by the caller once done with them
+     */
+    public ImportRecords readRecords(InputStream in, ImportFormat format) {
+        return switch (format) {
+            case CSV -> readCsv(in);
+            case JSON -> readJson(in);
+        };
+    }
+
+    public ImportResult importRows(Iterator<ImportRecord> records) {
+        return importRows(records, ChunkListener.NONE);
+    }
+
+    public ImportResult importRows(Iterator<ImportRecord> records, ChunkListener listener) {
+        ImportResult result = new ImportResult();
+        List<ImportRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        while (records.hasNext()) {
+            chunk.add(records.next());
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, result, listener);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result, listener);
+        }
+
+        log.info("Employee import finished: {} rows, {} imported, {} failed",
+                result.getTotalRows(), result.getImportedRows(), result.getFailedRows());
+        return result;
+    }
+
+    private void importChunk(List<ImportRecord> chunk, ImportResult result, ChunkListener listener) {
+        List<ImportRowError> errors = new ArrayList<>();
+        List<Employee> employees;
+        try {
+            employees = insertInTransaction(chunk, errors, listener);
+        } catch (DataAccessException e) {
+            // A row conflicting with a concurrent write or a role deleted meanwhile, find it row by row
+            log.warn("Import chunk from row {} failed, retrying its rows one at a time: {}",
+                    chunk.get(0).rowNumber(), e.getMostSpecificCause().getMessage());
+            errors.clear();
+            employees = importRowByRow(chunk, errors, listener);
+        }
+
+        result.setTotalRows(result.getTotalRows() + chunk.size());
+        result.setImportedRows(result.getImportedRows() + employees.size());
+        result.setFailedRows(result.getFailedRows() + errors.size());
+        for (ImportRowError error : errors) {
+            if (result.getErrors().size() >= MAX_REPORTED_ERRORS) {
+                break;
+            }
+            result.getErrors().add(error);
+        }
+    }
+
+    private List<Employee> importRowByRow(List<ImportRecord> chunk, List<ImportRowError> errors,
+                                          ChunkListener listener) {
+        List<Employee> employees = new ArrayList<>();
+        for (ImportRecord record : chunk) {
+            List<ImportRowError> rowErrors = new ArrayList<>();
+            try {
+                employees.addAll(insertInTransaction(List.of(record), rowErrors, listener));
+            } catch (DataAccessException e) {
+                List<ImportRowError> failed = List.of(new ImportRowError(record.rowNumber(), keyOf(record),
+                        failureMessage(record, e)));
+                transactionTemplate.executeWithoutResult(status -> listener.onChunk(1, 0, failed));
+                rowErrors = failed;
+            }
+            errors.addAll(rowErrors);
+        }
+        return employees;
+    }
+
+    private List<Employee> insertInTransaction(List<ImportRecord> records, List<ImportRowError> errors,
+                                               ChunkListener listener) {
+        return transactionTemplate.execute(status -> {
+            List<Employee> inserted = insertChunk(records, errors);
+            listener.onChunk(records.size(), inserted.size(), errors);
+            return inserted;
+        });
+    }
+
+    private static String failureMessage(ImportRecord record, DataAccessException e) {
+        if (e instanceof DuplicateKeyException) {
+            return "Employee with email " + keyOf(record) + " already exists";
+        }
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+        return "Could not be saved: " + cause.substring(0, Math.min(cause.length(), MAX_ERROR_LENGTH));
+    }
+
+    private List<Employee> insertChunk(List<ImportRecord> chunk, List<ImportRowError> errors) {
+        Map<String, ImportRecord> candidates = new LinkedHashMap<>();
+        Map<String, Role> roles = new HashMap<>();
+
+        for (ImportRecord record : chunk) {
+            // Keyed and stored trimmed, so the duplicate checks see the value the unique index will
+            if (record.row() != null && record.row().getEmail() != null) {
+                record.row().setEmail(record.row().getEmail().trim());
+            }
+
+            Optional<String> error = validate(record);
+            if (error.isPresent()) {
+                errors.add(new ImportRowError(record.rowNumber(), keyOf(record), error.get()));
+                continue;
+            }
+
+            EmployeeImportRow row = record.row();
+            Optional<Role> role = resolveRole(row);
+            if (role.isEmpty()) {
+                errors.add(new ImportRowError(record.rowNumber(), row.getEmail(), "Role not found"));
+                continue;
+            }
+
+            if (candidates.putIfAbsent(row.getEmail(), record) != null) {
+                errors.add(new ImportRowError(record.rowNumber(), row.getEmail(), "Duplicate email in import"));
+                continue;
+            }
+            roles.put(row.getEmail(), role.get());
+        }
+
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        for (String email : findExistingEmails(candidates.keySet())) {
+            ImportRecord record = candidates.remove(email);
+            errors.add(new ImportRowError(record.rowNumber(), email,
+                    "Employee with email " + email + " already exists"));
+        }
+
+        List<ImportRecord> accepted = new ArrayList<>(candidates.values());
+        if (accepted.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = allocateIds(accepted.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<Employee> employees = new ArrayList<>(accepted.size());
+        SqlParameterSource[] batch = new SqlParameterSource[accepted.size()];
+
+        for (int i = 0; i < accepted.size(); i++) {
+            EmployeeImportRow row = accepted.get(i).row();
+            Employee employee = toEmployee(row, ids.get(i), roles.get(row.getEmail()), now);
+            employees.add(employee);
+            batch[i] = parametersOf(employee);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, batch);
+        outboxPublisher.publishAll(AggregateType.EMPLOYEE, ChangeType.CREATED, employees, Employee::getEmployeeId);
+        TransactionUtils.afterCommit(() -> employees.forEach(searchIndex::index));
+        return employees;
+    }
+
+    private Optional<String> validate(ImportRecord record) {
+        if (record.error() != null) {
+            return Optional.of(record.error());
+        }
+
+        Set<ConstraintViolation<EmployeeImportRow>> violations = validator.validate(record.row());
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+    }
+
+    private Optional<Role> resolveRole(EmployeeImportRow row) {
+        if (row.getRoleId() != null) {
+            return roleRegistry.findById(row.getRoleId());
+        }
+        if (row.getRoleName() != null && !row.getRoleName().isBlank()) {
+            return roleRegistry.findByName(row.getRoleName().trim().toUpperCase(Locale.ROOT));
+        }
+        return roleRegistry.findByName("EMPLOYEE");
+    }
+
+    private Set<String> findExistingEmails(Set<String> emails) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT email FROM employees WHERE email IN (:emails) AND deleted_at IS NULL",
+                new MapSqlParameterSource("emails", emails),
+                String.class));
+    }
+
+    /**
+     * Reserve ids from the employees sequence in one round trip, so the rows can be
+     * batch inserted instead of fetching an identity value per insert
+     */
+    private List<Long> allocateIds(int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('employees', 'employee_id')) FROM generate_series(1, :count)",
+                new MapSqlParameterSource("count", count),
+                Long.class);
+    }
+
+    private static Employee toEmployee(EmployeeImportRow row, Long id, Role role, LocalDateTime now) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(id);
+        employee.setFirstName(row.getFirstName().trim());
+        employee.setLastName(row.getLastName().trim());
+        employee.setEmail(row.getEmail().trim());
+        employee.setPhoneNumber(row.getPhoneNumber());
+        employee.setDepartment(row.getDepartment());
+        employee.setPosition(row.getPosition());
+        employee.setHireDate(row.getHireDate());
+        employee.setSalary(row.getSalary());
+        employee.setRole(role);
+        employee.setCreatedAt(now);
+        employee.setUpdatedAt(now);
+        employee.setVersion(0L);
+        return employee;
+    }
+
+    private static SqlParameterSource parametersOf(Employee employee) {
+        return new MapSqlParameterSource()
+                .addValue("employeeId", employee.getEmployeeId())
+                .addValue("firstName", employee.getFirstName())
+                .addValue("lastName", employee.getLastName())
+                .addValue("email", employee.getEmail())
+                .addValue("phoneNumber", employee.getPhoneNumber())
+                .addValue("department", employee.getDepartment())
+                .addValue("position", employee.getPosition())
+                .addValue("hireDate", employee.getHireDate() != null ? Date.valueOf(employee.getHireDate()) : null)
+                .addValue("salary", employee.getSalary())
+                .addValue("roleId", employee.getRole().getRoleId())
+                .addValue("createdAt", Timestamp.valueOf(employee.getCreatedAt()));
+    }
+
+    private static String keyOf(ImportRecord record) {
+        return record.row() != null ? record.row().getEmail() : null;
+    }
+
+    private ImportRecords readCsv(InputStream in) {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        if (!reader.hasNext()) {
+            return ImportRecords.EMPTY;
+        }
+
+        List<String> header = reader.next().stream()
+                .map(column -> column.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT))
+                .toList();
+
+        // The stream belongs to the caller, there is nothing else to close
+        return new ImportRecords() {
+            private long rowNumber = 1;
+
+            @Override
+            public boolean hasNext() {
+                return reader.hasNext();
+            }
+
+            @Override
+            public ImportRecord next() {
+                List<String> values = reader.next();
+                rowNumber++;
+                try {
+                    return new ImportRecord(rowNumber, toRow(header, values), null);
+                } catch (RuntimeException e) {
+                    return new ImportRecord(rowNumber, null, "Invalid row: " + e.getMessage());
+                }
+            }
+        };
+    }
+
+    private static EmployeeImportRow toRow(List<String> header, List<String> values) {
+        EmployeeImportRow row = new EmployeeImportRow();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header.get(i)) {
+                case "firstname" -> row.setFirstName(value);
+                case "lastname" -> row.setLastName(value);
+                case "email" -> row.setEmail(value);
+                case "phonenumber", "phone" -> row.setPhoneNumber(value);
+                case "department" -> row.setDepartment(value);
+                case "position" -> row.setPosition(value);
+                case "hiredate" -> row.setHireDate(LocalDate.parse(value));
+                case "salary" -> row.setSalary(Double.valueOf(value));
+                case "roleid" -> row.setRoleId(Long.valueOf(value));
+                case "rolename", "role" -> row.setRoleName(value);
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        return row;
+    }
+
+    private ImportRecords readJson(InputStream in) {
+        JsonParser parser = objectMapper.createParser(in);
+        JsonToken first;
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of employees");
+            }
+            first = parser.nextToken();
+        } catch (RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+
+        return new ImportRecords() {
+            private long rowNumber;
+            private JsonToken token = first;
+
+            @Override
+            public void close() {
+                parser.close();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return token != null && token != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public ImportRecord next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                rowNumber++;
+
+                // A syntax error cannot be recovered from, but a value that does not map is just a bad row
+                JsonNode node = objectMapper.readTree(parser);
+                token = parser.nextToken();
+                try {
+                    return new ImportRecord(rowNumber, objectMapper.treeToValue(node, EmployeeImportRow.class), null);
+                } catch (JacksonException e) {
+                    return new ImportRecord(rowNumber, null, "Invalid row: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    public record ImportRecord(long rowNumber, EmployeeImportRow row, String error) {
+    }
+
+    /**
+     * Records read from an upload, closing releases the parser reading them
+     */
+    public interface ImportRecords extends Iterator<ImportRecord>, AutoCloseable {
+
+        ImportRecords EMPTY = new ImportRecords() {
+            @Override
+            public boolean hasNext() {
+                return false;
+            }
+
+            @Override
+            public ImportRecord next() {
+                throw new NoSuchElementException();
+            }
+        };
+
+        @Override
+        default void close() {
+        }
+    }
+
+    /**
+     * Called inside each chunk's transaction, so anything it writes commits or rolls
+     * back together with the chunk
+     */
+    @FunctionalInterface
+    public interface ChunkListener {
+
+        ChunkListener NONE = (rows, imported, errors) -> { };
+
+        void onChunk(int rows, int imported, List<ImportRowError> errors);
+    }
+}
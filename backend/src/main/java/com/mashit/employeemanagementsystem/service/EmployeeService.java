@@ -1,26 +1,118 @@
 package com.mashit.employeemanagementsystem.service;
 
+import com.mashit.employeemanagementsystem.calendar.LeaveCalendar;
+import com.mashit.employeemanagementsystem.dto.CursorPage;
+import com.mashit.employeemanagementsystem.dto.EmployeeChange;
+import com.mashit.employeemanagementsystem.dto.EmployeeView;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
 import com.mashit.employeemanagementsystem.entity.Employee;
 import com.mashit.employeemanagementsystem.entity.Role;
 import com.mashit.employeemanagementsystem.exception.DuplicateResourceException;
+import com.mashit.employeemanagementsystem.exception.ResourceInUseException;
 import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import com.mashit.employeemanagementsystem.outbox.OutboxPublisher;
 import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
-import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import com.mashit.employeemanagementsystem.repository.LeaveRequestRepository;
+import com.mashit.employeemanagementsystem.repository.UserRepository;
+import com.mashit.employeemanagementsystem.search.EmployeeSearchIndex;
+import com.mashit.employeemanagementsystem.security.AuthenticatedPrincipalCache;
+import com.mashit.employeemanagementsystem.security.TokenRevocationRegistry;
+import com.mashit.employeemanagementsystem.util.ETags;
+import com.mashit.employeemanagementsystem.util.TransactionUtils;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+
     private final EmployeeRepository employeeRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final EmployeeSearchIndex searchIndex;
+    private final LeaveCalendar leaveCalendar;
+    private final OutboxPublisher outboxPublisher;
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    @Value("${app.employees.changes.settle-ms:5000}")
+    private long changesSettleMs;
+
+    /**
+     * Keyset page of employees ordered by id, starting after the given cursor
+     */
+    public CursorPage<EmployeeView> getEmployeePage(Long afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // Fetch one extra row to know whether another page exists
+        List<EmployeeView> employees = employeeRepository.findViewPageAfter(
+                afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+
+        if (employees.size() <= pageSize) {
+            return new CursorPage<>(employees, null);
+        }
+
+        List<EmployeeView> items = employees.subList(0, pageSize);
+        return new CursorPage<>(items, items.get(pageSize - 1).getEmployeeId());
+    }
+
+    /**
+     * Walk every employee row as a read model through a forward-only cursor
+     */
+    @Transactional(readOnly = true)
+    public void streamEmployeeViews(Consumer<EmployeeView> consumer) {
+        try (Stream<EmployeeView> employees = employeeRepository.streamAllViews()) {
+            employees.forEach(consumer);
+        }
+    }
+
+    /**
+     * Walk every employee through a forward-only cursor, detaching each row once
+     * consumed so the persistence context does not grow with the table
+     */
+    @Transactional(readOnly = true)
+    public void streamEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee);
+            });
+        }
+    }
 
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    /**
+     * Employees created, updated or deleted after the watermark, oldest first.
+     * Continue from the last row's updatedAt and employeeId until a page comes
+     * back short. Changes younger than the settle delay are held back, so a
+     * transaction that commits after a newer one is not skipped by the watermark.
+     * That is best effort: updatedAt is taken when the writing transaction starts,
+     * so one that runs longer than the settle delay can still be skipped.
+     */
+    public List<EmployeeChange> getEmployeeChanges(LocalDateTime since, Long afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return employeeRepository.findChangedAfter(since, afterId != null ? afterId : 0L, changesSettleMs, pageSize);
     }
 
     public Employee getEmployeeById(Long id) {
@@ -33,8 +125,41 @@ public class EmployeeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with email: " + email));
     }
 
-    public List<Employee> searchEmployeesByName(String name) {
-        return employeeRepository.searchByName(name);
+    /**
+     * Ranked search over name, email, department and position. Falls back to the
+     * database while the in-memory index is still being built.
+     */
+    public List<EmployeeView> searchEmployees(String query, int limit) {
+        int maxResults = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        if (!searchIndex.isReady()) {
+            return employeeRepository.searchViewsByName(query, Limit.of(maxResults));
+        }
+
+        List<Long> ids = searchIndex.search(query, maxResults);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+
+        return employeeRepository.findViewsByIdIn(ids).stream()
+                .sorted(Comparator.comparing(employee -> rank.get(employee.getEmployeeId())))
+                .toList();
+    }
+
+    /**
+     * Rebuilt in the background, searches use the database until it is ready
+     */
+    @Async
+    @Transactional(readOnly = true)
+    public void rebuildSearchIndex() {
+        searchIndex.clear();
+        streamEmployees(searchIndex::index);
+        searchIndex.markReady();
     }
 
     @Transactional
@@ -44,17 +169,26 @@ public class EmployeeService {
         }
 
         if (employee.getRole() != null && employee.getRole().getRoleId() != null) {
-            Role role = roleRepository.findById(employee.getRole().getRoleId())
+            Role role = roleRegistry.findById(employee.getRole().getRoleId())
                     .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
             employee.setRole(role);
         }
 
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        outboxPublisher.publish(AggregateType.EMPLOYEE, savedEmployee.getEmployeeId(), ChangeType.CREATED,
+                savedEmployee);
+        TransactionUtils.afterCommit(() -> searchIndex.index(savedEmployee));
+        return savedEmployee;
     }
 
+    /**
+     * Updates an employee. A non-null expected version comes from If-Match and is
+     * checked against the loaded entity.
+     */
     @Transactional
-    public Employee updateEmployee(Long id, Employee employeeDetails) {
+    public Employee updateEmployee(Long id, Employee employeeDetails, Long expectedVersion) {
         Employee employee = getEmployeeById(id);
+        ETags.requireVersion("Employee", id, expectedVersion, employee.getVersion());
 
         if (!employee.getEmail().equals(employeeDetails.getEmail()) &&
                 employeeRepository.existsByEmail(employeeDetails.getEmail())) {
@@ -66,17 +200,46 @@ public class EmployeeService {
         employee.setEmail(employeeDetails.getEmail());
 
         if (employeeDetails.getRole() != null && employeeDetails.getRole().getRoleId() != null) {
-            Role role = roleRepository.findById(employeeDetails.getRole().getRoleId())
+            Role role = roleRegistry.findById(employeeDetails.getRole().getRoleId())
                     .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
+
+            if (!role.getRoleId().equals(employee.getRole().getRoleId())) {
+                principalCache.invalidateEmployee(id);
+                userRepository.findByEmployeeId(id).ifPresent(revocationRegistry::revoke);
+            }
             employee.setRole(role);
         }
 
-        return employeeRepository.save(employee);
+        // Flushed so the response carries the incremented version
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        outboxPublisher.publish(AggregateType.EMPLOYEE, id, ChangeType.UPDATED, savedEmployee);
+        TransactionUtils.afterCommit(() -> {
+            searchIndex.index(savedEmployee);
+            leaveCalendar.moveEmployee(id, savedEmployee.getDepartment());
+        });
+        return savedEmployee;
     }
 
+    /**
+     * Soft delete: the row stays as a tombstone for the delta feed. Employees
+     * still referenced by a user account or leave requests cannot be deleted.
+     */
     @Transactional
-    public void deleteEmployee(Long id) {
+    public void deleteEmployee(Long id, Long expectedVersion) {
         Employee employee = getEmployeeById(id);
-        employeeRepository.delete(employee);
+        ETags.requireVersion("Employee", id, expectedVersion, employee.getVersion());
+
+        if (userRepository.findByEmployeeId(id).isPresent() || leaveRequestRepository.existsByEmployeeId(id)) {
+            throw new ResourceInUseException("Employee " + id + " still has a user account or leave requests");
+        }
+
+        // Bumps updatedAt and the version like any other update
+        employee.setDeletedAt(LocalDateTime.now());
+        employeeRepository.saveAndFlush(employee);
+        outboxPublisher.publish(AggregateType.EMPLOYEE, id, ChangeType.DELETED, null);
+        TransactionUtils.afterCommit(() -> {
+            searchIndex.remove(id);
+            leaveCalendar.removeEmployee(id);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+package com.mashit.employeemanagementsystem.service;
+
+import com.mashit.employeemanagementsystem.dto.ImportJobResponse;
+import com.mashit.employeemanagementsystem.dto.ImportRowError;
+import com.mashit.employeemanagementsystem.entity.ImportFormat;
+import com.mashit.employeemanagementsystem.entity.ImportJob;
+import com.mashit.employeemanagementsystem.entity.ImportJobError;
+import com.mashit.employeemanagementsystem.entity.ImportJobStatus;
+import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import com.mashit.employeemanagementsystem.exception.TooManyRequestsException;
+import com.mashit.employeemanagementsystem.repository.ImportJobErrorRepository;
+import com.mashit.employeemanagementsystem.repository.ImportJobRepository;
+import com.mashit.employeemanagementsystem.service.EmployeeImportService.ImportRecord;
+import com.mashit.employeemanagementsystem.service.EmployeeImportService.ImportRecords;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs bulk imports in the background. The import_jobs table is the queue: a
+ * dispatcher thread claims QUEUED jobs while a worker is free, and workers
+ * checkpoint after every chunk so a job interrupted by a restart is picked up
+ * again and continues after the last committed chunk. A claimed job records this
+ * instance as its owner, which heartbeats it; only jobs whose owner has gone
+ * quiet for app.import.stale-after-ms are queued again, by any instance. Staged
+ * files have to be on a persistent directory every instance can read.
+ */
+@Service
+@Slf4j
+public class ImportJobService {
+
+    public static final int MAX_STORED_ERRORS = 1000;
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobErrorRepository errorRepository;
+    private final EmployeeImportService employeeImportService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path stagingDir;
+    private final int maxQueued;
+    private final long pollInterval;
+    private final long staleAfterMs;
+    private final String instanceId = instanceId();
+
+    private final Semaphore workerPermits;
+    private final Semaphore wakeup = new Semaphore(0);
+    private final ExecutorService workers;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public ImportJobService(ImportJobRepository jobRepository,
+                            ImportJobErrorRepository errorRepository,
+                            EmployeeImportService employeeImportService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.import.staging-dir}") String stagingDir,
+                            @Value("${app.import.workers:2}") int workerCount,
+                            @Value("${app.import.max-queued:20}") int maxQueued,
+                            @Value("${app.import.poll-interval:5000}") long pollInterval,
+                            @Value("${app.import.stale-after-ms:60000}") long staleAfterMs) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.employeeImportService = employeeImportService;
+        this.transactionTemplate = transactionTemplate;
+        this.stagingDir = persistentDirectory(stagingDir);
+        this.maxQueued = maxQueued;
+        this.pollInterval = pollInterval;
+        this.staleAfterMs = staleAfterMs;
+        this.workerPermits = new Semaphore(workerCount);
+
+        AtomicInteger workerNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "import-worker-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatchLoop, "import-dispatcher");
+        this.dispatcher.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        requeueStale();
+        dispatcher.start();
+    }
+
+    /**
+     * Keeps this instance's jobs from being taken over while it runs them
+     */
+    @Scheduled(fixedDelayString = "${app.import.heartbeat-ms:10000}")
+    public void heartbeat() {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.heartbeat(instanceId));
+    }
+
+    /**
+     * Jobs whose owner stopped heartbeating were cut off by a crash, queue them
+     * again so they resume from their checkpoint
+     */
+    @Scheduled(initialDelayString = "${app.import.stale-after-ms:60000}",
+            fixedDelayString = "${app.import.stale-after-ms:60000}")
+    public void requeueStale() {
+        Integer resumed = transactionTemplate.execute(status -> jobRepository.requeueStale(staleAfterMs));
+        if (resumed != null && resumed > 0) {
+            log.info("Resuming {} interrupted import job(s)", resumed);
+            wakeup.release();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+    }
+
+    public ImportJobResponse submitEmployeeImport(InputStream in, ImportFormat format, String submittedBy) {
+        if (jobRepository.countByStatus(ImportJobStatus.QUEUED) >= maxQueued) {
+            throw new TooManyRequestsException("Too many import jobs are queued, try again later",
+                    TimeUnit.MILLISECONDS.toSeconds(pollInterval) * 6);
+        }
+
+        Path file = stage(in, format);
+        ImportJob job = new ImportJob();
+        job.setFormat(format);
+        job.setStatus(ImportJobStatus.QUEUED);
+        // Relative to the staging directory, which may be mounted elsewhere on other instances
+        job.setStagingFile(file.getFileName().toString());
+        job.setSubmittedBy(submittedBy);
+        ImportJob savedJob = jobRepository.save(job);
+
+        wakeup.release();
+        return toResponse(savedJob, List.of());
+    }
+
+    public ImportJobResponse getJob(Long id) {
+        ImportJob job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ImportJob", "id", id));
+        List<ImportRowError> errors = errorRepository.findTop100ByJobIdOrderByRowNumber(id).stream()
+                .map(error -> new ImportRowError(error.getRowNumber(), error.getRowKey(), error.getMessage()))
+                .toList();
+        return toResponse(job, errors);
+    }
+
+    public List<ImportJobResponse> getRecentJobs() {
+        return jobRepository.findTop50ByOrderByIdDesc().stream()
+                .map(job -> toResponse(job, List.of()))
+                .toList();
+    }
+
+    private Path stage(InputStream in, ImportFormat format) {
+        try {
+            Files.createDirectories(stagingDir);
+            Path file = Files.createTempFile(stagingDir, "import-", "." + format.name().toLowerCase(Locale.ROOT));
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stage import file", e);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                wakeup.tryAcquire(pollInterval, TimeUnit.MILLISECONDS);
+                wakeup.drainPermits();
+
+                while (running && workerPermits.tryAcquire()) {
+                    Optional<ImportJob> job = claimNext();
+                    if (job.isEmpty()) {
+                        workerPermits.release();
+                        break;
+                    }
+                    workers.execute(() -> {
+                        try {
+                            run(job.get());
+                        } finally {
+                            workerPermits.release();
+                            wakeup.release();
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Import dispatcher failed to claim a job", e);
+            }
+        }
+    }
+
+    private Optional<ImportJob> claimNext() {
+        return transactionTemplate.execute(status -> jobRepository.findNextQueuedId()
+                .flatMap(jobRepository::findById)
+                .map(job -> {
+                    job.setStatus(ImportJobStatus.RUNNING);
+                    job.setOwner(instanceId);
+                    job.setAttempts(job.getAttempts() + 1);
+                    if (job.getStartedAt() == null) {
+                        job.setStartedAt(LocalDateTime.now());
+                    }
+                    ImportJob claimed = jobRepository.save(job);
+                    jobRepository.heartbeat(instanceId);
+                    return claimed;
+                }));
+    }
+
+    private void run(ImportJob job) {
+        Long jobId = job.getId();
+        // Jobs staged before file names were stored relative hold an absolute path
+        Path file = stagingDir.resolve(job.getStagingFile());
+        log.info("Import job {} started at row {} (attempt {})", jobId, job.getProcessedRows(), job.getAttempts());
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file));
+             ImportRecords records = employeeImportService.readRecords(in, job.getFormat())) {
+            for (long skipped = 0; skipped < job.getProcessedRows() && records.hasNext(); skipped++) {
+                records.next();
+            }
+
+            AtomicLong storedErrors = new AtomicLong(job.getFailedRows());
+            employeeImportService.importRows(untilStopped(records),
+                    (rows, imported, errors) -> checkpoint(jobId, rows, imported, errors, storedErrors));
+
+            if (!running) {
+                // Queued again for whichever instance is up first, it resumes from the checkpoint
+                transactionTemplate.executeWithoutResult(status -> jobRepository.release(jobId, instanceId));
+                log.info("Import job {} paused by shutdown", jobId);
+                return;
+            }
+
+            if (finish(jobId, ImportJobStatus.COMPLETED, null)) {
+                Files.deleteIfExists(file);
+            }
+        } catch (JobTakenOverException e) {
+            log.warn("Import job {} was taken over by another instance, stopping", jobId);
+        } catch (Exception e) {
+            log.error("Import job {} failed", jobId, e);
+            finish(jobId, ImportJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs inside the chunk transaction, so the checkpoint only moves when the
+     * chunk's rows are committed
+     */
+    private void checkpoint(Long jobId, int rows, int imported, List<ImportRowError> errors, AtomicLong storedErrors) {
+        // Rolls the chunk back when this instance was too quiet and another one requeued the job
+        int advanced = jobRepository.advanceCheckpoint(jobId, instanceId, rows, imported, errors.size(),
+                LocalDateTime.now());
+        if (advanced == 0) {
+            throw new JobTakenOverException();
+        }
+
+        List<ImportJobError> toStore = errors.stream()
+                .limit(Math.max(0, MAX_STORED_ERRORS - storedErrors.get()))
+                .map(error -> new ImportJobError(null, jobId, error.getRow(), error.getKey(), truncate(error.getMessage())))
+                .toList();
+        if (!toStore.isEmpty()) {
+            errorRepository.saveAll(toStore);
+        }
+        storedErrors.addAndGet(errors.size());
+    }
+
+    // False when the job is no longer ours and was left alone
+    private boolean finish(Long jobId, ImportJobStatus status, String errorMessage) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(tx -> jobRepository.findById(jobId)
+                .filter(job -> instanceId.equals(job.getOwner()))
+                .map(job -> {
+                    job.setStatus(status);
+                    job.setErrorMessage(truncate(errorMessage));
+                    job.setFinishedAt(LocalDateTime.now());
+                    jobRepository.save(job);
+                    return true;
+                })
+                .orElse(false)));
+    }
+
+    private Iterator<ImportRecord> untilStopped(Iterator<ImportRecord> records) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return running && records.hasNext();
+            }
+
+            @Override
+            public ImportRecord next() {
+                return records.next();
+            }
+        };
+    }
+
+    private static Path persistentDirectory(String directory) {
+        Path path = Path.of(directory).toAbsolutePath().normalize();
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+        if (path.startsWith(tmp)) {
+            throw new IllegalStateException("app.import.staging-dir must be a persistent directory shared by "
+                    + "every instance, not under " + tmp + ": " + path);
+        }
+        return path;
+    }
+
+    private static String instanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        // A restarted instance is a new owner, its old jobs are requeued once stale
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= 1000) {
+            return message;
+        }
+        return message.substring(0, 1000);
+    }
+
+    private static final class JobTakenOverException extends RuntimeException {
+
+        JobTakenOverException() {
+            super("Import job was requeued by another instance");
+        }
+    }
+
+    private static ImportJobResponse toResponse(ImportJob job, List<ImportRowError> errors) {
+        double rowsPerSecond = 0;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            if (millis > 0) {
+                rowsPerSecond = job.getProcessedRows() * 1000.0 / millis;
+            }
+        }
+
+        return new ImportJobResponse(
+                job.getId(),
+                job.getFormat(),
+                job.getStatus(),
+                job.getProcessedRows(),
+                job.getImportedRows(),
+                job.getFailedRows(),
+                rowsPerSecond,
+                job.getAttempts(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                errors
+        );
+    }
+}
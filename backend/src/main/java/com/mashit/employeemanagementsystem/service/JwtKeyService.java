@@ -0,0 +1,87 @@
+package com.mashit.employeemanagementsystem.service;
+
+import com.mashit.employeemanagementsystem.entity.JwtSigningKey;
+import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import com.mashit.employeemanagementsystem.repository.JwtSigningKeyRepository;
+import com.mashit.employeemanagementsystem.security.JwtKeyRing;
+import com.mashit.employeemanagementsystem.util.TransactionUtils;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Stores JWT signing key changes so every instance and the next start see them,
+ * and applies them to this instance's key ring once they commit
+ */
+@Service
+@Timed
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final JwtSigningKeyRepository signingKeyRepository;
+    private final JwtKeyRing keyRing;
+
+    /**
+     * Generate a fresh random key and sign new tokens with it
+     */
+    @Transactional
+    public String rotate() {
+        byte[] bytes = new byte[64];
+        RANDOM.nextBytes(bytes);
+        String secret = Base64.getEncoder().encodeToString(bytes);
+        String keyId = "k" + System.currentTimeMillis();
+
+        signingKeyRepository.deactivateAll();
+        signingKeyRepository.save(new JwtSigningKey(keyId, secret, true, null));
+
+        TransactionUtils.afterCommit(() -> {
+            keyRing.put(keyId, secret, true);
+            log.info("Rotated JWT signing key, active key id is now {}", keyId);
+        });
+        return keyId;
+    }
+
+    /**
+     * Sign new tokens with an existing key, e.g. to roll back a rotation
+     */
+    @Transactional
+    public void activate(String keyId) {
+        signingKeyRepository.deactivateAll();
+        if (keyId.equals(keyRing.getDefaultKeyId())) {
+            TransactionUtils.afterCommit(() -> keyRing.activateDefault());
+            return;
+        }
+
+        JwtSigningKey key = signingKeyRepository.findById(keyId)
+                .orElseThrow(() -> new ResourceNotFoundException("JWT key not found with id: " + keyId));
+        key.setActive(true);
+        String secret = key.getSecret();
+        TransactionUtils.afterCommit(() -> keyRing.put(keyId, secret, true));
+    }
+
+    /**
+     * Stop accepting tokens signed with the key
+     */
+    @Transactional
+    public void retire(String keyId) {
+        if (keyId.equals(keyRing.getDefaultKeyId())) {
+            throw new IllegalArgumentException("Cannot retire the configured JWT key: " + keyId);
+        }
+        JwtSigningKey key = signingKeyRepository.findById(keyId)
+                .orElseThrow(() -> new ResourceNotFoundException("JWT key not found with id: " + keyId));
+        if (key.isActive()) {
+            throw new IllegalArgumentException("Cannot retire the active JWT key: " + keyId);
+        }
+
+        signingKeyRepository.delete(key);
+        TransactionUtils.afterCommit(() -> keyRing.remove(keyId));
+    }
+}
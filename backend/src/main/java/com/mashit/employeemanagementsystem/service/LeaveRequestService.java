@@ -1,25 +1,83 @@
 package com.mashit.employeemanagementsystem.service;
 
+import com.mashit.employeemanagementsystem.calendar.LeaveCalendar;
+import com.mashit.employeemanagementsystem.calendar.LeaveEntry;
+import com.mashit.employeemanagementsystem.dto.BulkStatusOutcome;
+import com.mashit.employeemanagementsystem.dto.BulkStatusRequest;
+import com.mashit.employeemanagementsystem.dto.BulkStatusResult;
+import com.mashit.employeemanagementsystem.dto.EmployeeSummary;
+import com.mashit.employeemanagementsystem.dto.LeaveHeadcount;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestFilter;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestPage;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestView;
+import com.mashit.employeemanagementsystem.dto.RoleSummary;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
 import com.mashit.employeemanagementsystem.entity.Employee;
 import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.events.LeaveEventHub;
+import com.mashit.employeemanagementsystem.exception.InvalidStateTransitionException;
+import com.mashit.employeemanagementsystem.exception.LeaveOverlapException;
 import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import com.mashit.employeemanagementsystem.outbox.OutboxPublisher;
 import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
 import com.mashit.employeemanagementsystem.repository.LeaveRequestRepository;
+import com.mashit.employeemanagementsystem.security.CustomUserDetails;
+import com.mashit.employeemanagementsystem.util.ETags;
+import com.mashit.employeemanagementsystem.util.TransactionUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed
 @RequiredArgsConstructor
 public class LeaveRequestService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final String DEFAULT_SORT = "startDate,desc";
+    public static final int MAX_CALENDAR_DAYS = 366;
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    private static final String MANAGER_ROLE = "MANAGER";
+
+    // Exclusion constraint from database/migrations/002_leave_request_no_overlap.sql
+    private static final String OVERLAP_CONSTRAINT = "leave_requests_no_overlap";
+
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
+    private final LeaveCalendar leaveCalendar;
+    private final OutboxPublisher outboxPublisher;
+    private final LeaveEventHub leaveEventHub;
 
-    public List<LeaveRequest> getAllLeaveRequests() {
-        return leaveRequestRepository.findAll();
+    /**
+     * Keyset page of the matching leave requests, starting after the cursor returned with the previous page
+     */
+    public LeaveRequestPage searchLeaveRequests(LeaveRequestFilter filter, String after, int size, String sort) {
+        validateFilter(filter);
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return leaveRequestRepository.findViews(filter, parseSort(sort), after, pageSize);
     }
 
     public LeaveRequest getLeaveRequestById(Long id) {
@@ -27,35 +85,283 @@ public class LeaveRequestService {
                 .orElseThrow(() -> new ResourceNotFoundException("Leave request not found with id: " + id));
     }
 
-    public List<LeaveRequest> getLeaveRequestsByEmployeeId(Long employeeId) {
-        return leaveRequestRepository.findByEmployeeId(employeeId);
+    public List<LeaveRequestView> getLeaveRequestsByEmployeeId(Long employeeId) {
+        return leaveRequestRepository.findViewsByEmployeeId(employeeId);
+    }
+
+    public List<LeaveRequestView> getPendingLeaveRequests() {
+        return leaveRequestRepository.findViewsByStatus(LeaveStatus.PENDING);
+    }
+
+    /**
+     * Walk every leave request row as a read model through a forward-only cursor
+     */
+    @Transactional(readOnly = true)
+    public void streamLeaveRequestViews(Consumer<LeaveRequestView> consumer) {
+        try (Stream<LeaveRequestView> leaveRequests = leaveRequestRepository.streamAllViews()) {
+            leaveRequests.forEach(consumer);
+        }
+    }
+
+    /**
+     * Pushes leave request changes as they commit, so a dashboard loads the pending
+     * list once and then applies events instead of polling. Managers only get
+     * their own department, whatever they ask for.
+     */
+    public SseEmitter subscribeToEvents(CustomUserDetails principal, String department, String lastEventId) {
+        if (principal != null && MANAGER_ROLE.equals(principal.getRoleName())) {
+            department = employeeRepository.findById(principal.getEmployeeId())
+                    .map(Employee::getDepartment)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+            if (department == null) {
+                throw new IllegalArgumentException("Managers need a department to follow leave requests");
+            }
+        }
+        return leaveEventHub.subscribe(department, lastEventId);
+    }
+
+    /**
+     * Pending and approved leave overlapping the range, from memory once the calendar is loaded
+     */
+    public List<LeaveEntry> getCalendar(LocalDate from, LocalDate to, Long employeeId, String department) {
+        validateRange(from, to);
+        if (to.toEpochDay() - from.toEpochDay() > MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Calendar range is limited to " + MAX_CALENDAR_DAYS + " days");
+        }
+
+        if (leaveCalendar.isReady()) {
+            return leaveCalendar.overlapping(from, to, employeeId, department);
+        }
+        List<LeaveEntry> entries = employeeId != null
+                ? leaveRequestRepository.findEmployeeEntriesOverlapping(employeeId, LeaveStatus.ACTIVE, from, to)
+                : leaveRequestRepository.findEntriesOverlapping(LeaveStatus.ACTIVE, from, to);
+        return entries.stream()
+                .filter(entry -> department == null || department.equals(entry.department()))
+                .toList();
+    }
+
+    /**
+     * The employee's pending or approved requests that a request for these dates would overlap
+     */
+    public List<LeaveEntry> findConflicts(Long employeeId, LocalDate startDate, LocalDate endDate, Long excludeId) {
+        validateRange(startDate, endDate);
+
+        if (leaveCalendar.isReady()) {
+            return leaveCalendar.conflicts(employeeId, startDate, endDate, excludeId);
+        }
+        return leaveRequestRepository.findEmployeeEntriesOverlapping(employeeId, LeaveStatus.ACTIVE, startDate, endDate)
+                .stream()
+                .filter(entry -> !entry.id().equals(excludeId))
+                .toList();
     }
 
-    public List<LeaveRequest> getPendingLeaveRequests() {
-        return leaveRequestRepository.findPendingLeaveRequests();
+    public LeaveHeadcount getHeadcount(LocalDate date, String department) {
+        Map<LeaveStatus, Integer> counts;
+        if (leaveCalendar.isReady()) {
+            counts = leaveCalendar.headcount(date, department);
+        } else {
+            Map<LeaveStatus, Set<Long>> employees = new EnumMap<>(LeaveStatus.class);
+            for (LeaveEntry entry : getCalendar(date, date, null, department)) {
+                employees.computeIfAbsent(entry.status(), status -> new HashSet<>()).add(entry.employeeId());
+            }
+            counts = new EnumMap<>(LeaveStatus.class);
+            employees.forEach((status, ids) -> counts.put(status, ids.size()));
+        }
+        return new LeaveHeadcount(date, department, counts.getOrDefault(LeaveStatus.APPROVED, 0),
+                counts.getOrDefault(LeaveStatus.PENDING, 0));
+    }
+
+    /**
+     * Loaded in the background, calendar queries use the database until it is ready.
+     * Changes committed while the snapshot is read are applied after it.
+     */
+    @Async
+    @Transactional(readOnly = true)
+    public void rebuildCalendar() {
+        leaveCalendar.startRebuild();
+        try (Stream<LeaveEntry> entries = leaveRequestRepository.streamEntriesByStatusIn(LeaveStatus.ACTIVE)) {
+            entries.forEach(leaveCalendar::load);
+        } catch (RuntimeException e) {
+            leaveCalendar.clear();
+            throw e;
+        }
+        leaveCalendar.finishRebuild();
     }
 
     @Transactional
     public LeaveRequest createLeaveRequest(LeaveRequest leaveRequest, Long employeeId) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+        validateRange(leaveRequest.getStartDate(), leaveRequest.getEndDate());
+        rejectConflicts(employeeId, leaveRequest.getStartDate(), leaveRequest.getEndDate(), null);
 
         leaveRequest.setEmployee(employee);
-        leaveRequest.setStatus("PENDING");
+        leaveRequest.setStatus(LeaveStatus.PENDING);
 
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest savedRequest = saveChecked(leaveRequest);
+        LeaveEntry entry = toEntry(savedRequest);
+        outboxPublisher.publish(AggregateType.LEAVE_REQUEST, entry.id(), ChangeType.CREATED, toView(savedRequest));
+        TransactionUtils.afterCommit(() -> leaveCalendar.put(entry));
+        return savedRequest;
     }
 
+    /**
+     * Moves one request to a new status. A non-null expected version comes from
+     * If-Match and is checked against the loaded entity.
+     */
     @Transactional
-    public LeaveRequest updateLeaveRequestStatus(Long id, String status) {
+    public LeaveRequest updateLeaveRequestStatus(Long id, LeaveStatus status, Long expectedVersion) {
         LeaveRequest leaveRequest = getLeaveRequestById(id);
+        ETags.requireVersion("Leave request", id, expectedVersion, leaveRequest.getVersion());
+        if (!leaveRequest.getStatus().canTransitionTo(status)) {
+            throw new InvalidStateTransitionException("Leave request", id, leaveRequest.getStatus(), status);
+        }
         leaveRequest.setStatus(status);
-        return leaveRequestRepository.save(leaveRequest);
+
+        LeaveRequest savedRequest = saveChecked(leaveRequest);
+        LeaveEntry entry = toEntry(savedRequest);
+        outboxPublisher.publish(AggregateType.LEAVE_REQUEST, id, ChangeType.UPDATED, toView(savedRequest));
+        TransactionUtils.afterCommit(() -> leaveCalendar.put(entry));
+        return savedRequest;
     }
 
+    /**
+     * Applies one transition to many requests with a single UPDATE guarded by the
+     * current status, so a request another manager changed in the meantime is
+     * reported instead of overwritten
+     */
     @Transactional
-    public void deleteLeaveRequest(Long id) {
+    public BulkStatusResult updateLeaveRequestStatuses(BulkStatusRequest request) {
+        LeaveStatus target = LeaveStatus.from(request.getStatus());
+        List<Long> ids = resolveBulkIds(request);
+
+        List<LeaveEntry> updated = leaveRequestRepository.transitionStatus(ids, LeaveStatus.sourcesOf(target), target);
+        Set<Long> updatedIds = new HashSet<>();
+        updated.forEach(entry -> updatedIds.add(entry.id()));
+
+        List<Long> skippedIds = ids.stream().filter(id -> !updatedIds.contains(id)).toList();
+        Map<Long, LeaveStatus> currentStatuses = new HashMap<>();
+        if (!skippedIds.isEmpty()) {
+            for (Object[] row : leaveRequestRepository.findStatusesByIdIn(skippedIds)) {
+                currentStatuses.put((Long) row[0], (LeaveStatus) row[1]);
+            }
+        }
+
+        List<BulkStatusOutcome> outcomes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (updatedIds.contains(id)) {
+                outcomes.add(new BulkStatusOutcome(id, BulkStatusOutcome.Result.UPDATED, target));
+            } else if (currentStatuses.containsKey(id)) {
+                outcomes.add(new BulkStatusOutcome(id, BulkStatusOutcome.Result.INVALID_TRANSITION,
+                        currentStatuses.get(id)));
+            } else {
+                outcomes.add(new BulkStatusOutcome(id, BulkStatusOutcome.Result.NOT_FOUND, null));
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            outboxPublisher.publishAll(AggregateType.LEAVE_REQUEST, ChangeType.UPDATED,
+                    leaveRequestRepository.findViewsByIdIn(updatedIds), LeaveRequestView::getId);
+        }
+        TransactionUtils.afterCommit(() -> updated.forEach(leaveCalendar::put));
+        return new BulkStatusResult(target, updated.size(), ids.size() - updated.size(), outcomes);
+    }
+
+    @Transactional
+    public void deleteLeaveRequest(Long id, Long expectedVersion) {
         LeaveRequest leaveRequest = getLeaveRequestById(id);
+        ETags.requireVersion("Leave request", id, expectedVersion, leaveRequest.getVersion());
+        LeaveRequestView deleted = toView(leaveRequest);
         leaveRequestRepository.delete(leaveRequest);
+        // Carries the request as it was, so leave event streams can tell whose department it was in
+        outboxPublisher.publish(AggregateType.LEAVE_REQUEST, id, ChangeType.DELETED, deleted);
+        TransactionUtils.afterCommit(() -> leaveCalendar.remove(id));
+    }
+
+    private List<Long> resolveBulkIds(BulkStatusRequest request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (hasIds == (request.getFilter() != null)) {
+            throw new IllegalArgumentException("Provide either ids or a filter");
+        }
+
+        List<Long> ids;
+        if (hasIds) {
+            ids = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        } else {
+            validateFilter(request.getFilter());
+            ids = leaveRequestRepository.findIds(request.getFilter(), MAX_BULK_SIZE + 1);
+        }
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " leave requests can be updated at once");
+        }
+        return ids;
+    }
+
+    private void rejectConflicts(Long employeeId, LocalDate startDate, LocalDate endDate, Long excludeId) {
+        List<LeaveEntry> conflicts = findConflicts(employeeId, startDate, endDate, excludeId);
+        if (!conflicts.isEmpty()) {
+            throw new LeaveOverlapException(conflicts.stream().map(LeaveEntry::id).toList());
+        }
+    }
+
+    /**
+     * Flushes so the database's overlap constraint, which catches two requests
+     * racing past the calendar check, fails here rather than at commit
+     */
+    private LeaveRequest saveChecked(LeaveRequest leaveRequest) {
+        try {
+            return leaveRequestRepository.saveAndFlush(leaveRequest);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMessage() != null && e.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                throw new LeaveOverlapException(List.of());
+            }
+            throw e;
+        }
+    }
+
+    private static void validateFilter(LeaveRequestFilter filter) {
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Start and end dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
+    private static LeaveEntry toEntry(LeaveRequest leaveRequest) {
+        Employee employee = leaveRequest.getEmployee();
+        return new LeaveEntry(leaveRequest.getId(), employee.getEmployeeId(), employee.getDepartment(),
+                leaveRequest.getStartDate(), leaveRequest.getEndDate(), leaveRequest.getStatus());
+    }
+
+    private static LeaveRequestView toView(LeaveRequest leaveRequest) {
+        Employee employee = leaveRequest.getEmployee();
+        Role role = employee.getRole();
+        EmployeeSummary summary = new EmployeeSummary(employee.getEmployeeId(), employee.getFirstName(),
+                employee.getLastName(), employee.getEmail(), employee.getDepartment(), employee.getPosition(),
+                role != null ? new RoleSummary(role.getRoleId(), role.getName()) : null);
+        return new LeaveRequestView(leaveRequest.getId(), leaveRequest.getStartDate(), leaveRequest.getEndDate(),
+                leaveRequest.getStatus(), summary);
+    }
+
+    /**
+     * Parses "property" or "property,asc|desc"
+     */
+    private static Sort.Order parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            sort = DEFAULT_SORT;
+        }
+        String[] parts = sort.split(",");
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + parts[1].trim()))
+                : Sort.Direction.ASC;
+        return new Sort.Order(direction, parts[0].trim());
     }
-}
\ No newline at end of file
+}
@@ -8,7 +8,11 @@ import com.mashit.employeemanagementsystem.entity.User;
 import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
 import com.mashit.employeemanagementsystem.repository.PasswordResetTokenRepository;
 import com.mashit.employeemanagementsystem.repository.UserRepository;
+import com.mashit.employeemanagementsystem.security.AuthenticatedPrincipalCache;
+import com.mashit.employeemanagementsystem.security.TokenRevocationRegistry;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,12 +21,15 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
+@Timed
 @RequiredArgsConstructor
 public class PasswordResetService {
 
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenRevocationRegistry revocationRegistry;
     // private final EmailService emailService; // TODO: Implement email service
 
     /**
@@ -106,7 +113,9 @@ public class PasswordResetService {
         // Get user and update password
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        revocationRegistry.revoke(user);
         userRepository.save(user);
+        principalCache.invalidateUser(user.getUsername());
 
         // Mark token as used
         resetToken.setUsed(true);
@@ -119,8 +128,9 @@ public class PasswordResetService {
     }
 
     /**
-     * Clean up expired tokens (should be run periodically)
+     * Clean up expired tokens, hourly by default
      */
+    @Scheduled(cron = "${app.password-reset.cleanup-cron:0 0 * * * *}")
     @Transactional
     public void cleanupExpiredTokens() {
         tokenRepository.deleteByExpiryDateBefore(LocalDateTime.now());
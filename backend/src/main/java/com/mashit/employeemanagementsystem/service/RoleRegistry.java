@@ -0,0 +1,92 @@
+package com.mashit.employeemanagementsystem.service;
+
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Copy-on-write snapshot of the roles table. Readers never lock; writers swap in
+ * a freshly loaded snapshot after their transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+    private volatile Snapshot snapshot;
+
+    public void reload() {
+        List<Role> roles = roleRepository.findAll().stream()
+                .map(RoleRegistry::copy)
+                .sorted(Comparator.comparing(Role::getRoleId))
+                .toList();
+
+        snapshot = new Snapshot(
+                roles,
+                roles.stream().collect(Collectors.toUnmodifiableMap(Role::getRoleId, Function.identity())),
+                roles.stream().collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity(), (a, b) -> a)),
+                eTagOf(roles)
+        );
+        log.debug("Role registry loaded {} roles", roles.size());
+    }
+
+    public List<Role> getAll() {
+        return current().roles().stream().map(RoleRegistry::copy).toList();
+    }
+
+    public Optional<Role> findById(Long id) {
+        return Optional.ofNullable(current().byId().get(id)).map(RoleRegistry::copy);
+    }
+
+    public Optional<Role> findByName(String name) {
+        return Optional.ofNullable(current().byName().get(name)).map(RoleRegistry::copy);
+    }
+
+    public String getETag() {
+        return current().eTag();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    // Callers get detached copies so nobody can mutate the shared snapshot
+    private static Role copy(Role role) {
+        Role copy = new Role();
+        copy.setRoleId(role.getRoleId());
+        copy.setName(role.getName());
+        copy.setVersion(role.getVersion());
+        return copy;
+    }
+
+    private static String eTagOf(List<Role> roles) {
+        String content = roles.stream()
+                .map(role -> role.getRoleId() + ":" + role.getName() + ":" + role.getVersion())
+                .collect(Collectors.joining(","));
+        return "roles-" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Snapshot(List<Role> roles, Map<Long, Role> byId, Map<String, Role> byName, String eTag) {
+    }
+}
@@ -1,9 +1,17 @@
 package com.mashit.employeemanagementsystem.service;
 
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
 import com.mashit.employeemanagementsystem.entity.Role;
 import com.mashit.employeemanagementsystem.exception.DuplicateResourceException;
 import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import com.mashit.employeemanagementsystem.outbox.OutboxPublisher;
 import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import com.mashit.employeemanagementsystem.security.AuthenticatedPrincipalCache;
+import com.mashit.employeemanagementsystem.security.TokenRevocationRegistry;
+import com.mashit.employeemanagementsystem.util.ETags;
+import com.mashit.employeemanagementsystem.util.TransactionUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,49 +19,83 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
+@Timed
 @RequiredArgsConstructor
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final RoleRegistry roleRegistry;
+    private final OutboxPublisher outboxPublisher;
 
     public List<Role> getAllRoles() {
-        return roleRepository.findAll();
+        return roleRegistry.getAll();
     }
 
     public Role getRoleById(Long id) {
-        return roleRepository.findById(id)
+        return roleRegistry.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
     }
 
     public Role getRoleByName(String name) {
-        return roleRepository.findByName(name)
+        return roleRegistry.findByName(name)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with name: " + name));
     }
 
+    public String getRolesETag() {
+        return roleRegistry.getETag();
+    }
+
     @Transactional
     public Role createRole(Role role) {
         if (roleRepository.existsByName(role.getName())) {
             throw new DuplicateResourceException("Role with name " + role.getName() + " already exists");
         }
-        return roleRepository.save(role);
+
+        Role savedRole = roleRepository.save(role);
+        outboxPublisher.publish(AggregateType.ROLE, savedRole.getRoleId(), ChangeType.CREATED, savedRole);
+        TransactionUtils.afterCommit(roleRegistry::reload);
+        return savedRole;
     }
 
+    /**
+     * Renames a role. A non-null expected version comes from If-Match and is
+     * checked against the loaded entity.
+     */
     @Transactional
-    public Role updateRole(Long id, Role roleDetails) {
-        Role role = getRoleById(id);
+    public Role updateRole(Long id, Role roleDetails, Long expectedVersion) {
+        Role role = roleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
+        ETags.requireVersion("Role", id, expectedVersion, role.getVersion());
 
         if (!role.getName().equals(roleDetails.getName()) &&
                 roleRepository.existsByName(roleDetails.getName())) {
             throw new DuplicateResourceException("Role with name " + roleDetails.getName() + " already exists");
         }
 
+        boolean renamed = !role.getName().equals(roleDetails.getName());
         role.setName(roleDetails.getName());
-        return roleRepository.save(role);
+        principalCache.invalidateAll();
+
+        Role savedRole = roleRepository.saveAndFlush(role);
+        if (renamed) {
+            // Stateless tokens of its holders still carry the old name
+            revocationRegistry.revokeRole(id);
+        }
+        outboxPublisher.publish(AggregateType.ROLE, id, ChangeType.UPDATED, savedRole);
+        TransactionUtils.afterCommit(roleRegistry::reload);
+        return savedRole;
     }
 
     @Transactional
-    public void deleteRole(Long id) {
-        Role role = getRoleById(id);
+    public void deleteRole(Long id, Long expectedVersion) {
+        Role role = roleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Role not found with id: " + id));
+        ETags.requireVersion("Role", id, expectedVersion, role.getVersion());
         roleRepository.delete(role);
+        outboxPublisher.publish(AggregateType.ROLE, id, ChangeType.DELETED, null);
+        principalCache.invalidateAll();
+        TransactionUtils.afterCommit(roleRegistry::reload);
     }
 }
\ No newline at end of file
@@ -1,32 +1,56 @@
 package com.mashit.employeemanagementsystem.service;
 
+import com.mashit.employeemanagementsystem.dto.UserView;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
 import com.mashit.employeemanagementsystem.entity.Employee;
 import com.mashit.employeemanagementsystem.entity.User;
 import com.mashit.employeemanagementsystem.exception.DuplicateResourceException;
 import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import com.mashit.employeemanagementsystem.outbox.OutboxPublisher;
 import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
 import com.mashit.employeemanagementsystem.repository.UserRepository;
+import com.mashit.employeemanagementsystem.security.AuthenticatedPrincipalCache;
+import com.mashit.employeemanagementsystem.security.TokenRevocationRegistry;
+import com.mashit.employeemanagementsystem.util.ETags;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final OutboxPublisher outboxPublisher;
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserView> getAllUsers() {
+        return userRepository.findAllViews();
     }
 
-    public List<User> getAllActiveUsers() {
-        return userRepository.findAllActiveUsers();
+    public List<UserView> getAllActiveUsers() {
+        return userRepository.findActiveViews();
+    }
+
+    /**
+     * Walk every user row as a read model through a forward-only cursor
+     */
+    @Transactional(readOnly = true)
+    public void streamUserViews(Consumer<UserView> consumer) {
+        try (Stream<UserView> users = userRepository.streamAllViews()) {
+            users.forEach(consumer);
+        }
     }
 
     public User getUserById(Long id) {
@@ -53,43 +77,75 @@ public class UserService {
             user.setEmployee(employee);
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        outboxPublisher.publish(AggregateType.USER, savedUser.getId(), ChangeType.CREATED, savedUser);
+        return savedUser;
     }
 
+    /**
+     * Updates a user. A non-null expected version comes from If-Match and is
+     * checked against the loaded entity.
+     */
     @Transactional
-    public User updateUser(Long id, User userDetails) {
+    public User updateUser(Long id, User userDetails, Long expectedVersion) {
         User user = getUserById(id);
+        ETags.requireVersion("User", id, expectedVersion, user.getVersion());
 
         if (!user.getUsername().equals(userDetails.getUsername()) &&
                 userRepository.existsByUsername(userDetails.getUsername())) {
             throw new DuplicateResourceException("Username already exists");
         }
 
+        principalCache.invalidateUser(user.getUsername());
+        boolean usernameChanged = !user.getUsername().equals(userDetails.getUsername());
         user.setUsername(userDetails.getUsername());
 
-        if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
+        boolean passwordChanged = userDetails.getPassword() != null && !userDetails.getPassword().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
 
+        boolean employeeChanged = false;
         if (userDetails.getEmployee() != null && userDetails.getEmployee().getEmployeeId() != null) {
             Employee employee = employeeRepository.findById(userDetails.getEmployee().getEmployeeId())
                     .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+            employeeChanged = !employee.getEmployeeId().equals(user.getEmployee().getEmployeeId());
             user.setEmployee(employee);
         }
 
-        return userRepository.save(user);
+        // Stateless tokens carry the username, employee id and role, all of which may have changed
+        if (usernameChanged || passwordChanged || employeeChanged) {
+            revocationRegistry.revoke(user);
+        }
+
+        // Flushed so the response carries the incremented version
+        User savedUser = userRepository.saveAndFlush(user);
+        outboxPublisher.publish(AggregateType.USER, id, ChangeType.UPDATED, savedUser);
+        return savedUser;
     }
 
     @Transactional
-    public User toggleUserStatus(Long id) {
+    public User toggleUserStatus(Long id, Long expectedVersion) {
         User user = getUserById(id);
+        ETags.requireVersion("User", id, expectedVersion, user.getVersion());
         user.setEnabled(!user.getEnabled());
-        return userRepository.save(user);
+        principalCache.invalidateUser(user.getUsername());
+
+        if (!user.getEnabled()) {
+            revocationRegistry.revoke(user);
+        }
+        User savedUser = userRepository.saveAndFlush(user);
+        outboxPublisher.publish(AggregateType.USER, id, ChangeType.UPDATED, savedUser);
+        return savedUser;
     }
 
     @Transactional
-    public void deleteUser(Long id) {
+    public void deleteUser(Long id, Long expectedVersion) {
         User user = getUserById(id);
+        ETags.requireVersion("User", id, expectedVersion, user.getVersion());
         userRepository.delete(user);
+        outboxPublisher.publish(AggregateType.USER, id, ChangeType.DELETED, null);
+        principalCache.invalidateUser(user.getUsername());
+        revocationRegistry.revokeAll(user.getId());
     }
 }
\ No newline at end of file
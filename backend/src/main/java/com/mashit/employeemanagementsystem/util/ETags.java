@@ -0,0 +1,81 @@
+package com.mashit.employeemanagementsystem.util;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.entity.User;
+import com.mashit.employeemanagementsystem.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Entity tags built from {@code @Version} columns. A representation that embeds
+ * other entities joins their versions with dots, an employee tagged "3.1" is
+ * employee version 3 with role version 1, so a GET revalidation notices a change
+ * to any of them. If-Match only compares the first part, the version of the
+ * entity being written.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Role role) {
+        return tag(role.getVersion());
+    }
+
+    public static String of(Employee employee) {
+        return tag(employee.getVersion(), employee.getRole() != null ? employee.getRole().getVersion() : null);
+    }
+
+    public static String of(User user) {
+        Employee employee = user.getEmployee();
+        return employee != null
+                ? tag(user.getVersion(), employee.getVersion(), employee.getRole().getVersion())
+                : tag(user.getVersion());
+    }
+
+    public static String of(LeaveRequest leaveRequest) {
+        Employee employee = leaveRequest.getEmployee();
+        return tag(leaveRequest.getVersion(), employee.getVersion(), employee.getRole().getVersion());
+    }
+
+    /**
+     * The entity version an If-Match header asks for, null when there is no
+     * header or it is "*". A tag that is not one of ours yields -1, which never
+     * matches.
+     */
+    public static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        int dot = tag.indexOf('.');
+        try {
+            return Long.parseLong(dot >= 0 ? tag.substring(0, dot) : tag);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Fails with 412 when the client asked for a version other than the current one
+     */
+    public static void requireVersion(String resourceName, Object id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(resourceName, id, expectedVersion, currentVersion);
+        }
+    }
+
+    private static String tag(Long... versions) {
+        return "\"" + Arrays.stream(versions)
+                .map(version -> String.valueOf(Objects.requireNonNullElse(version, 0L)))
+                .collect(Collectors.joining(".")) + "\"";
+    }
+}
@@ -0,0 +1,38 @@
+package com.mashit.employeemanagementsystem.util;
+
+import com.mashit.employeemanagementsystem.config.DatabaseConcurrencyLimiter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+public final class JsonStreams {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private JsonStreams() {
+    }
+
+    /**
+     * A response body that writes the rows as one JSON array while they are read,
+     * so the first bytes go out before the last row is loaded and the list is
+     * never held in memory. The source is run on the async request thread and
+     * must open its own transaction, which counts as streaming work for the
+     * database concurrency limiter.
+     */
+    public static <T> StreamingResponseBody array(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return DatabaseConcurrencyLimiter.streaming(outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            JsonGenerator generator = objectMapper.createGenerator(out);
+            generator.writeStartArray();
+            source.accept(generator::writePOJO);
+            generator.writeEndArray();
+            // Flushed rather than closed, the container owns the response stream
+            generator.flush();
+            out.flush();
+        });
+    }
+}
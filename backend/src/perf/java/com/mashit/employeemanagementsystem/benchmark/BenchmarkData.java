@@ -0,0 +1,89 @@
+package com.mashit.employeemanagementsystem.benchmark;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private static final String[] ROLES = {"ADMIN", "MANAGER", "EMPLOYEE"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Sales", "Operations", "HR"};
+
+    private BenchmarkData() {
+    }
+
+    static Role role(long id) {
+        Role role = new Role();
+        role.setRoleId(id);
+        role.setName(ROLES[(int) (id % ROLES.length)]);
+        return role;
+    }
+
+    static Employee employee(long id) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(id);
+        employee.setFirstName("First" + id);
+        employee.setLastName("Last" + id);
+        employee.setEmail("employee" + id + "@example.com");
+        employee.setPhoneNumber("+27 11 555 " + (1000 + id % 9000));
+        employee.setDepartment(DEPARTMENTS[(int) (id % DEPARTMENTS.length)]);
+        employee.setPosition("Position " + id % 40);
+        employee.setHireDate(LocalDate.of(2015, 1, 1).plusDays(id % 3000));
+        employee.setSalary(30000.0 + id % 70000);
+        employee.setRole(role(id % ROLES.length + 1));
+        employee.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        employee.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 9, 0));
+        return employee;
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoO5Hh6E3Zq5r7dQ9vI4yNw8kOq4Ew9rF2");
+        user.setEmployee(employee(id));
+        user.setEnabled(true);
+        return user;
+    }
+
+    static LeaveRequest leaveRequest(long id) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId(id);
+        leaveRequest.setEmployee(employee(id % 5000));
+        leaveRequest.setStartDate(LocalDate.of(2024, 1, 1).plusDays(id % 365));
+        leaveRequest.setEndDate(LocalDate.of(2024, 1, 3).plusDays(id % 365));
+        leaveRequest.setStatus(LeaveStatus.PENDING);
+        return leaveRequest;
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    static List<LeaveRequest> leaveRequests(int count) {
+        List<LeaveRequest> leaveRequests = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            leaveRequests.add(leaveRequest(i));
+        }
+        return leaveRequests;
+    }
+}
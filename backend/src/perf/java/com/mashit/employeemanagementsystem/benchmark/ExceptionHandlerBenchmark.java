@@ -0,0 +1,42 @@
+package com.mashit.employeemanagementsystem.benchmark;
+
+import com.mashit.employeemanagementsystem.dto.ErrorResponse;
+import com.mashit.employeemanagementsystem.exception.DuplicateResourceException;
+import com.mashit.employeemanagementsystem.exception.GlobalExceptionHandler;
+import com.mashit.employeemanagementsystem.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/employees/42"));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleResourceNotFoundException(
+                new ResourceNotFoundException("Employee not found with id: 42"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> conflict() {
+        return handler.handleDuplicateResourceException(
+                new DuplicateResourceException("Employee with email a@b.c already exists"), request);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mashit.employeemanagementsystem.benchmark;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.User;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+    private List<User> users;
+    private List<LeaveRequest> leaveRequests;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        employees = BenchmarkData.employees(size);
+        users = BenchmarkData.users(size);
+        leaveRequests = BenchmarkData.leaveRequests(size);
+    }
+
+    @Benchmark
+    public byte[] employees() {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] users() {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] leaveRequests() {
+        return objectMapper.writeValueAsBytes(leaveRequests);
+    }
+}
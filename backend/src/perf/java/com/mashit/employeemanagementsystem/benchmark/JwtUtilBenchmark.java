@@ -0,0 +1,57 @@
+package com.mashit.employeemanagementsystem.benchmark;
+
+import com.mashit.employeemanagementsystem.security.CustomUserDetails;
+import com.mashit.employeemanagementsystem.security.JwtKeyRing;
+import com.mashit.employeemanagementsystem.security.JwtToken;
+import com.mashit.employeemanagementsystem.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtUtilBenchmark {
+
+    static final String SECRET = "MySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256AlgorithmSecureKey2024";
+
+    private JwtUtil jwtUtil;
+    private CustomUserDetails userDetails;
+    private String token;
+    private String statelessToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new JwtKeyRing(null, "default", SECRET), 86400000L);
+        userDetails = new CustomUserDetails(1L, "jdoe", "{noop}secret", 1L, "EMPLOYEE", true, 0);
+        token = jwtUtil.generateToken(userDetails);
+        statelessToken = jwtUtil.generateStatelessToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateStatelessToken() {
+        return jwtUtil.generateStatelessToken(userDetails);
+    }
+
+    @Benchmark
+    public JwtToken parse() {
+        return jwtUtil.parse(token);
+    }
+
+    @Benchmark
+    public CustomUserDetails parseStatelessPrincipal() {
+        return CustomUserDetails.fromToken(jwtUtil.parse(statelessToken));
+    }
+
+    @Benchmark
+    public boolean parseAndValidate() {
+        return jwtUtil.validateToken(jwtUtil.parse(token), userDetails);
+    }
+}
@@ -0,0 +1,36 @@
+package com.mashit.employeemanagementsystem.benchmark;
+
+import com.mashit.employeemanagementsystem.entity.User;
+import com.mashit.employeemanagementsystem.security.CustomUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserDetailsBenchmark {
+
+    private User user;
+    private CustomUserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user(1);
+        userDetails = CustomUserDetails.build(user);
+    }
+
+    @Benchmark
+    public CustomUserDetails build() {
+        return CustomUserDetails.build(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userDetails.getAuthorities();
+    }
+}
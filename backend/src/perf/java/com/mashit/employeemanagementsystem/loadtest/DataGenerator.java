@@ -0,0 +1,161 @@
+package com.mashit.employeemanagementsystem.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds roles, employees, users and leave requests at a given scale. The same
+ * seed and scale always produce the same data set.
+ */
+public class DataGenerator {
+
+    public static final String PASSWORD = "password";
+
+    private static final String[] ROLES = {"ADMIN", "MANAGER", "EMPLOYEE"};
+    private static final String[] DEPARTMENTS = {
+            "Engineering", "Finance", "Sales", "Marketing", "Operations", "HR", "Legal", "Support"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Thabo", "Lerato", "Sipho", "Naledi", "John", "Mary", "Pieter", "Anika", "Ahmed", "Fatima",
+            "Kagiso", "Zanele", "David", "Sarah", "Michael", "Aisha", "Tebogo", "Lindiwe", "James", "Emma"
+    };
+    private static final String[] LAST_NAMES = {
+            "Mokoena", "Naidoo", "Botha", "Dlamini", "Smith", "Van der Merwe", "Khumalo", "Pillay", "Nkosi",
+            "Jacobs", "Mthembu", "Williams", "Ndlovu", "Petersen", "Zulu", "Mahlangu", "Brown", "Molefe"
+    };
+    private static final String[] STATUSES = {"PENDING", "APPROVED", "REJECTED"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final long seed;
+
+    public DataGenerator(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.seed = seed;
+    }
+
+    public void generate(int employees, int leaveRequestsPerEmployee) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            List<Long> roleIds = ensureRoles(connection);
+            insertEmployees(connection, employees, roleIds);
+            insertUsers(connection);
+            insertLeaveRequests(connection, leaveRequestsPerEmployee);
+
+            connection.commit();
+        }
+    }
+
+    private List<Long> ensureRoles(Connection connection) throws SQLException {
+        List<Long> roleIds = new ArrayList<>();
+        for (String role : ROLES) {
+            try (PreparedStatement select = connection.prepareStatement("SELECT role_id FROM roles WHERE name = ?")) {
+                select.setString(1, role);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        roleIds.add(rs.getLong(1));
+                        continue;
+                    }
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO roles (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+                insert.setString(1, role);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    roleIds.add(keys.getLong(1));
+                }
+            }
+        }
+        return roleIds;
+    }
+
+    private void insertEmployees(Connection connection, int count, List<Long> roleIds) throws SQLException {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+        String sql = "INSERT INTO employees (first_name, last_name, email, phone_number, department, position, " +
+                "hire_date, salary, role_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                // Mostly employees, a handful of managers and admins
+                int roleIndex = i % 50 == 0 ? 0 : i % 10 == 0 ? 1 : 2;
+
+                insert.setString(1, firstName);
+                insert.setString(2, lastName);
+                insert.setString(3, (firstName + "." + lastName).toLowerCase().replace(' ', '_')
+                        + "." + i + "@loadtest.example.com");
+                insert.setString(4, String.format("+27 %02d %03d %04d",
+                        random.nextInt(90) + 10, random.nextInt(1000), random.nextInt(10000)));
+                insert.setString(5, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+                insert.setString(6, "Level " + (random.nextInt(6) + 1));
+                insert.setDate(7, Date.valueOf(LocalDate.of(2010, 1, 1).plusDays(random.nextInt(5000))));
+                insert.setDouble(8, 20000 + random.nextInt(180000));
+                insert.setLong(9, roleIds.get(roleIndex));
+                insert.setTimestamp(10, Timestamp.valueOf(now));
+                insert.setTimestamp(11, Timestamp.valueOf(now));
+                insert.addBatch();
+
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        // One hash for everyone: hashing per row would dominate the seeding time
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        String sql = "INSERT INTO users (username, password, employee_id, enabled, token_version) " +
+                "SELECT 'user' || e.employee_id, ?, e.employee_id, TRUE, 0 FROM employees e " +
+                "WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.employee_id = e.employee_id)";
+
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            insert.setString(1, hash);
+            insert.executeUpdate();
+        }
+    }
+
+    private void insertLeaveRequests(Connection connection, int perEmployee) throws SQLException {
+        if (perEmployee <= 0) {
+            return;
+        }
+
+        String sql = "INSERT INTO leave_requests (employee_id, start_date, end_date, status) " +
+                "SELECT e.employee_id, " +
+                "DATE '2020-01-01' + ((e.employee_id * 31 + s.n * 97 + ?) % 2000)::int, " +
+                "DATE '2020-01-01' + ((e.employee_id * 31 + s.n * 97 + ?) % 2000)::int + (s.n % 10)::int, " +
+                "(ARRAY[?, ?, ?])[1 + ((e.employee_id + s.n) % 3)::int] " +
+                "FROM employees e CROSS JOIN generate_series(1, ?) AS s(n)";
+
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            insert.setLong(1, seed);
+            insert.setLong(2, seed);
+            insert.setString(3, STATUSES[0]);
+            insert.setString(4, STATUSES[1]);
+            insert.setString(5, STATUSES[2]);
+            insert.setInt(6, perEmployee);
+            insert.executeUpdate();
+        }
+    }
+}
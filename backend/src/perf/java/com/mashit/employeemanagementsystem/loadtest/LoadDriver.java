@@ -0,0 +1,132 @@
+package com.mashit.employeemanagementsystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Closed-loop HTTP load generator: each worker issues one request at a time and
+ * records its latency in microseconds per endpoint.
+ */
+public class LoadDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final HttpClient client;
+    private final int concurrency;
+
+    public LoadDriver(int concurrency) {
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+
+    public Map<String, EndpointStats> run(List<Endpoint> endpoints, Duration warmup, Duration duration)
+            throws InterruptedException {
+        runPhase(endpoints, warmup, new LinkedHashMap<>());
+
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> stats.put(endpoint.name(), new EndpointStats(endpoint.name())));
+
+        long started = System.nanoTime();
+        runPhase(endpoints, duration, stats);
+        long elapsedNanos = System.nanoTime() - started;
+
+        stats.values().forEach(s -> s.elapsedNanos = elapsedNanos);
+        return stats;
+    }
+
+    private void runPhase(List<Endpoint> endpoints, Duration duration, Map<String, EndpointStats> stats)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = endpoints.get(random.nextInt(endpoints.size()));
+                    execute(endpoint, random.nextInt(Integer.MAX_VALUE), stats.get(endpoint.name()));
+                }
+            }, "load-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void execute(Endpoint endpoint, int sequence, EndpointStats stats) {
+        HttpRequest request = endpoint.requestFactory().apply(sequence);
+        long started = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (Exception e) {
+            ok = false;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+
+        if (stats != null) {
+            stats.record(micros, ok);
+        }
+    }
+
+    public record Endpoint(String name, Function<Integer, HttpRequest> requestFactory) {
+    }
+
+    public static class EndpointStats {
+
+        private final String name;
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private long elapsedNanos;
+
+        EndpointStats(String name) {
+            this.name = name;
+        }
+
+        void record(long micros, boolean ok) {
+            histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public double getThroughput() {
+            return histogram.getTotalCount() / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
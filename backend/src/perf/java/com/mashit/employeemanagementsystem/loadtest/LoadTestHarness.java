@@ -0,0 +1,192 @@
+package com.mashit.employeemanagementsystem.loadtest;
+
+import com.mashit.employeemanagementsystem.BackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts PostgreSQL (embedded unless --jdbc-url is given),
+ * boots the backend against it, seeds data and drives the main endpoints.
+ *
+ * <pre>
+ * mvn -Pperf test-compile exec:exec \
+ *     -Dperf.main=com.mashit.employeemanagementsystem.loadtest.LoadTestHarness \
+ *     -Dperf.args="--employees=100000 --concurrency=64 --duration=60"
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int employees = Integer.parseInt(options.getOrDefault("employees", "10000"));
+        int leavePerEmployee = Integer.parseInt(options.getOrDefault("leave-per-employee", "3"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "target/loadtest"));
+
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = options.get("jdbc-url");
+        String username = options.getOrDefault("db-user", "postgres");
+        String password = options.getOrDefault("db-password", "postgres");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        ConfigurableApplicationContext context = startBackend(jdbcUrl, username, password, options);
+
+        try {
+            seed(context, seed, employees, leavePerEmployee);
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadDriver driver = new LoadDriver(concurrency);
+            String token = login(driver, baseUrl, "user1");
+
+            List<LoadDriver.Endpoint> endpoints = List.of(
+                    new LoadDriver.Endpoint("GET /api/employees", n ->
+                            get(baseUrl + "/api/employees?size=50&after=" + (n % employees), token)),
+                    new LoadDriver.Endpoint("GET /api/employees/{id}", n ->
+                            get(baseUrl + "/api/employees/" + (1 + n % employees), token)),
+                    new LoadDriver.Endpoint("GET /api/leave-requests/employee/{id}", n ->
+                            get(baseUrl + "/api/leave-requests/employee/" + (1 + n % employees), token)),
+                    new LoadDriver.Endpoint("POST /api/auth/login", n ->
+                            loginRequest(baseUrl, "user" + (1 + n % employees)))
+            );
+
+            Map<String, LoadDriver.EndpointStats> results = driver.run(endpoints, warmup, duration);
+            writeReport(results, reportDir, employees, concurrency, duration);
+        } finally {
+            context.close();
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext startBackend(String jdbcUrl, String username, String password,
+                                                       Map<String, String> options, String... profiles) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=" + jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                "spring.datasource.username=" + username,
+                "spring.datasource.password=" + password,
+                "logging.level.com.mashit.employeemanagementsystem=INFO",
+                // Every simulated user logs in from the same address
+                "app.login.rate-limit.ip-per-minute=0",
+                "app.login.rate-limit.username-per-minute=0"
+        ));
+        options.forEach((key, value) -> {
+            if (key.startsWith("D")) {
+                properties.add(key.substring(1) + "=" + value);
+            }
+        });
+
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .profiles(profiles)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    static void seed(ConfigurableApplicationContext context, long seed, int employees, int leavePerEmployee)
+            throws Exception {
+        long seedStarted = System.nanoTime();
+        new DataGenerator(context.getBean(DataSource.class), seed).generate(employees, leavePerEmployee);
+        System.out.printf("Seeded %d employees in %.1fs%n", employees, (System.nanoTime() - seedStarted) / 1e9);
+    }
+
+    static String login(LoadDriver driver, String baseUrl, String username)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = driver.getClient()
+                .send(loginRequest(baseUrl, username), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asString();
+    }
+
+    static HttpRequest loginRequest(String baseUrl, String username) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + DataGenerator.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    static void writeReport(Map<String, LoadDriver.EndpointStats> results, Path reportDir,
+                                    int employees, int concurrency, Duration duration) throws IOException {
+        Files.createDirectories(reportDir);
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Load test: %d employees, %d workers, %ds%n%n",
+                employees, concurrency, duration.toSeconds()));
+        summary.append(String.format("%-40s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        for (LoadDriver.EndpointStats stats : results.values()) {
+            var histogram = stats.getHistogram();
+            summary.append(String.format("%-40s %10d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.getName(),
+                    histogram.getTotalCount(),
+                    stats.getThroughput(),
+                    stats.getErrors(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+
+            Path distribution = reportDir.resolve(stats.getName().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        Files.writeString(reportDir.resolve("summary.txt"), summary);
+        System.out.print(summary);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int equals = arg.indexOf('=');
+                if (equals > 0) {
+                    options.put(arg.substring(2, equals), arg.substring(equals + 1));
+                } else {
+                    options.put(arg.substring(2), "true");
+                }
+            }
+        }
+        return options;
+    }
+}
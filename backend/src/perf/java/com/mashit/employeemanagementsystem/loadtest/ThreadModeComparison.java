@@ -0,0 +1,119 @@
+package com.mashit.employeemanagementsystem.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the same burst load against the backend twice, once on Tomcat's platform
+ * thread pool and once with the "virtual" profile, and compares throughput and
+ * tail latency for an indexed read and for login.
+ *
+ * <pre>
+ * mvn -Pperf test-compile exec:exec \
+ *     -Dperf.main=com.mashit.employeemanagementsystem.loadtest.ThreadModeComparison \
+ *     -Dperf.args="--employees=10000 --concurrency=512 --duration=30"
+ * </pre>
+ */
+public class ThreadModeComparison {
+
+    private static final List<String> MODES = List.of("platform", "virtual");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestHarness.parseOptions(args);
+        int employees = Integer.parseInt(options.getOrDefault("employees", "10000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "512"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "target/loadtest"));
+
+        // Both runs would be on platform threads, the comparison would be meaningless
+        if (Runtime.version().feature() < 21) {
+            System.err.println("Java " + Runtime.version().feature()
+                    + " has no virtual threads, run the comparison on Java 21 or later");
+            System.exit(1);
+        }
+
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = options.get("jdbc-url");
+        String username = options.getOrDefault("db-user", "postgres");
+        String password = options.getOrDefault("db-password", "postgres");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        Map<String, Map<String, LoadDriver.EndpointStats>> results = new LinkedHashMap<>();
+        try {
+            boolean seeded = false;
+            for (String mode : MODES) {
+                String[] profiles = mode.equals("virtual") ? new String[]{"virtual"} : new String[0];
+                ConfigurableApplicationContext context =
+                        LoadTestHarness.startBackend(jdbcUrl, username, password, options, profiles);
+                try {
+                    if (!seeded) {
+                        LoadTestHarness.seed(context, seed, employees, 0);
+                        seeded = true;
+                    }
+
+                    String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                    LoadDriver driver = new LoadDriver(concurrency);
+                    String token = LoadTestHarness.login(driver, baseUrl, "user1");
+
+                    List<LoadDriver.Endpoint> endpoints = List.of(
+                            new LoadDriver.Endpoint("GET /api/employees/{id}", n ->
+                                    LoadTestHarness.get(baseUrl + "/api/employees/" + (1 + n % employees), token)),
+                            new LoadDriver.Endpoint("POST /api/auth/login", n ->
+                                    LoadTestHarness.loginRequest(baseUrl, "user" + (1 + n % employees)))
+                    );
+
+                    System.out.println("Running " + mode + " threads");
+                    Map<String, LoadDriver.EndpointStats> modeResults = driver.run(endpoints, warmup, duration);
+                    LoadTestHarness.writeReport(modeResults, reportDir.resolve(mode), employees, concurrency, duration);
+                    results.put(mode, modeResults);
+                } finally {
+                    context.close();
+                }
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+
+        writeComparison(results, reportDir, concurrency);
+    }
+
+    private static void writeComparison(Map<String, Map<String, LoadDriver.EndpointStats>> results,
+                                        Path reportDir, int concurrency) throws Exception {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Thread mode comparison, %d workers%n%n", concurrency));
+        summary.append(String.format("%-28s %-9s %10s %8s %9s %9s %9s%n",
+                "endpoint", "mode", "req/s", "errors", "p50 ms", "p99 ms", "max ms"));
+
+        for (Map.Entry<String, Map<String, LoadDriver.EndpointStats>> mode : results.entrySet()) {
+            for (LoadDriver.EndpointStats stats : mode.getValue().values()) {
+                var histogram = stats.getHistogram();
+                summary.append(String.format("%-28s %-9s %10.1f %8d %9.2f %9.2f %9.2f%n",
+                        stats.getName(),
+                        mode.getKey(),
+                        stats.getThroughput(),
+                        stats.getErrors(),
+                        histogram.getValueAtPercentile(50) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0,
+                        histogram.getMaxValue() / 1000.0));
+            }
+        }
+
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("thread-modes.txt"), summary);
+        System.out.print(summary);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mashit.employeemanagementsystem;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.ContextCustomizerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Points every Spring test context at an embedded PostgreSQL started once per
+ * test run, so tests never touch the database in application.properties. The
+ * schema is created by Hibernate. Registered in META-INF/spring.factories.
+ */
+class EmbeddedDatabaseContextCustomizerFactory implements ContextCustomizerFactory {
+
+    @Override
+    public ContextCustomizer createContextCustomizer(Class<?> testClass,
+                                                     List<ContextConfigurationAttributes> configAttributes) {
+        return new EmbeddedDatabaseContextCustomizer();
+    }
+
+    // Equal to every other instance, so it does not split the context cache
+    private record EmbeddedDatabaseContextCustomizer() implements ContextCustomizer {
+
+        @Override
+        public void customizeContext(ConfigurableApplicationContext context,
+                                     MergedContextConfiguration mergedConfig) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("embeddedDatabase", Map.of(
+                    "spring.datasource.url", Database.URL + "&reWriteBatchedInserts=true",
+                    "spring.datasource.username", "postgres",
+                    "spring.datasource.password", "postgres")));
+        }
+    }
+
+    // Started on first use, stopped when the test JVM exits
+    private static final class Database {
+
+        private static final String URL = start();
+
+        private static String start() {
+            try {
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        postgres.close();
+                    } catch (IOException e) {
+                        // The JVM is exiting, the data directory is temporary anyway
+                    }
+                }));
+                // Already has a query string naming the user
+                return postgres.getJdbcUrl("postgres", "postgres");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+        }
+    }
+}
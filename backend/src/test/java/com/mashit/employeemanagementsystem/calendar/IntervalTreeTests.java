@@ -0,0 +1,94 @@
+package com.mashit.employeemanagementsystem.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalTreeTests {
+
+    @Test
+    void findsEveryOverlappingIntervalInStartOrder() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 3, 1, "a");
+        tree.insert(5, 8, 2, "b");
+        tree.insert(2, 10, 3, "c");
+        tree.insert(12, 12, 4, "d");
+
+        assertThat(overlapping(tree, 4, 6)).containsExactly("c", "b");
+        assertThat(overlapping(tree, 3, 3)).containsExactly("a", "c");
+        assertThat(overlapping(tree, 11, 11)).isEmpty();
+        assertThat(overlapping(tree, 12, 20)).containsExactly("d");
+    }
+
+    @Test
+    void sameStartAndIdReplacesTheInterval() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 3, 7, "old");
+        tree.insert(1, 9, 7, "new");
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(overlapping(tree, 5, 5)).containsExactly("new");
+    }
+
+    @Test
+    void removeOnlyDropsTheMatchingInterval() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(1, 3, 1, "a");
+        tree.insert(1, 3, 2, "b");
+
+        assertThat(tree.remove(1, 1)).isTrue();
+        assertThat(tree.remove(1, 1)).isFalse();
+        assertThat(tree.remove(2, 2)).isFalse();
+        assertThat(overlapping(tree, 0, 10)).containsExactly("b");
+    }
+
+    @Test
+    void rejectsAnEndBeforeTheStart() {
+        assertThatThrownBy(() -> new IntervalTree<String>().insert(5, 4, 1, "a"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void matchesABruteForceScanUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        IntervalTree<Long> tree = new IntervalTree<>();
+        Map<Long, long[]> expected = new HashMap<>();
+
+        for (long id = 0; id < 5000; id++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                long removed = new ArrayList<>(expected.keySet()).get(random.nextInt(expected.size()));
+                assertThat(tree.remove(expected.remove(removed)[0], removed)).isTrue();
+            }
+            long start = random.nextInt(1000);
+            long end = start + random.nextInt(30);
+            tree.insert(start, end, id, id);
+            expected.put(id, new long[]{start, end});
+        }
+
+        assertThat(tree.size()).isEqualTo(expected.size());
+        for (int query = 0; query < 200; query++) {
+            long from = random.nextInt(1050);
+            long to = from + random.nextInt(50);
+            List<Long> matches = new ArrayList<>();
+            expected.forEach((id, range) -> {
+                if (range[0] <= to && range[1] >= from) {
+                    matches.add(id);
+                }
+            });
+            assertThat(overlapping(tree, from, to)).containsExactlyInAnyOrderElementsOf(matches);
+        }
+    }
+
+    private static <T> List<T> overlapping(IntervalTree<T> tree, long from, long to) {
+        List<T> result = new ArrayList<>();
+        tree.forEachOverlapping(from, to, result::add);
+        return result;
+    }
+}
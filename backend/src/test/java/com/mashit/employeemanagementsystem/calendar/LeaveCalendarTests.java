@@ -0,0 +1,116 @@
+package com.mashit.employeemanagementsystem.calendar;
+
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LeaveCalendarTests {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2026, 6, 1);
+
+    private LeaveCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new LeaveCalendar();
+        calendar.put(entry(1L, 10L, "Sales", 0, 4, LeaveStatus.APPROVED));
+        calendar.put(entry(2L, 11L, "Sales", 3, 6, LeaveStatus.PENDING));
+        calendar.put(entry(3L, 12L, "Finance", 10, 12, LeaveStatus.APPROVED));
+    }
+
+    @Test
+    void overlappingIsScopedByEmployeeOrDepartment() {
+        assertThat(ids(calendar, 2, 3, null, null)).containsExactly(1L, 2L);
+        assertThat(ids(calendar, 0, 20, null, "Finance")).containsExactly(3L);
+        assertThat(ids(calendar, 0, 20, 11L, null)).containsExactly(2L);
+        assertThat(ids(calendar, 7, 9, null, null)).isEmpty();
+    }
+
+    @Test
+    void inactiveRequestsDropOut() {
+        calendar.put(entry(2L, 11L, "Sales", 3, 6, LeaveStatus.REJECTED));
+        calendar.remove(3L);
+
+        assertThat(ids(calendar, 0, 20, null, null)).containsExactly(1L);
+        assertThat(calendar.size()).isEqualTo(1);
+    }
+
+    @Test
+    void conflictsIgnoreTheExcludedRequest() {
+        calendar.put(entry(4L, 10L, "Sales", 4, 5, LeaveStatus.PENDING));
+
+        assertThat(calendar.conflicts(10L, JUNE_1, JUNE_1.plusDays(4), null))
+                .extracting(LeaveEntry::id).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(calendar.conflicts(10L, JUNE_1, JUNE_1.plusDays(4), 4L))
+                .extracting(LeaveEntry::id).containsExactly(1L);
+    }
+
+    @Test
+    void movedEmployeesAreFiledUnderTheirNewDepartment() {
+        calendar.moveEmployee(11L, "Finance");
+
+        assertThat(ids(calendar, 0, 20, null, "Sales")).containsExactly(1L);
+        assertThat(ids(calendar, 0, 20, null, "Finance")).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void removedEmployeesLoseEveryRequest() {
+        calendar.put(entry(4L, 10L, "Sales", 8, 9, LeaveStatus.PENDING));
+        calendar.removeEmployee(10L);
+
+        assertThat(ids(calendar, 0, 20, null, null)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void headcountCountsEmployeesByStatus() {
+        assertThat(calendar.headcount(JUNE_1.plusDays(3), "Sales"))
+                .containsEntry(LeaveStatus.APPROVED, 1)
+                .containsEntry(LeaveStatus.PENDING, 1);
+        assertThat(calendar.headcount(JUNE_1.plusDays(8), null))
+                .containsEntry(LeaveStatus.APPROVED, 0)
+                .containsEntry(LeaveStatus.PENDING, 0);
+    }
+
+    @Test
+    void changesDuringARebuildWinOverTheSnapshot() {
+        calendar.startRebuild();
+        assertThat(calendar.isReady()).isFalse();
+
+        // Committed after the snapshot was taken, so the snapshot still has the old rows
+        calendar.put(entry(1L, 10L, "Sales", 0, 4, LeaveStatus.CANCELLED));
+        calendar.put(entry(2L, 11L, "Sales", 3, 6, LeaveStatus.APPROVED));
+        calendar.put(entry(4L, 13L, "Sales", 1, 2, LeaveStatus.PENDING));
+        calendar.moveEmployee(12L, "Sales");
+
+        calendar.load(entry(1L, 10L, "Sales", 0, 4, LeaveStatus.APPROVED));
+        calendar.load(entry(2L, 11L, "Sales", 3, 6, LeaveStatus.PENDING));
+        calendar.load(entry(3L, 12L, "Finance", 10, 12, LeaveStatus.APPROVED));
+        calendar.finishRebuild();
+
+        assertThat(calendar.isReady()).isTrue();
+        assertThat(calendar.overlapping(JUNE_1, JUNE_1.plusDays(20), null, "Sales"))
+                .extracting(LeaveEntry::id, LeaveEntry::status)
+                .containsExactly(
+                        tuple(4L, LeaveStatus.PENDING),
+                        tuple(2L, LeaveStatus.APPROVED),
+                        tuple(3L, LeaveStatus.APPROVED));
+        assertThat(ids(calendar, 0, 20, null, "Finance")).isEmpty();
+    }
+
+    private static List<Long> ids(LeaveCalendar calendar, int fromDay, int toDay, Long employeeId,
+                                String department) {
+        return calendar.overlapping(JUNE_1.plusDays(fromDay), JUNE_1.plusDays(toDay), employeeId, department)
+                .stream().map(LeaveEntry::id).toList();
+    }
+
+    private static LeaveEntry entry(Long id, Long employeeId, String department, int fromDay, int toDay,
+                                    LeaveStatus status) {
+        return new LeaveEntry(id, employeeId, department, JUNE_1.plusDays(fromDay), JUNE_1.plusDays(toDay), status);
+    }
+}
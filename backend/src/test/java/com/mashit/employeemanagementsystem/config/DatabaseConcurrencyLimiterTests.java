@@ -0,0 +1,75 @@
+package com.mashit.employeemanagementsystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseConcurrencyLimiterTests {
+
+    private final Semaphore permits = new Semaphore(1);
+    private final Semaphore streamingPermits = new Semaphore(1);
+    private final DatabaseConcurrencyLimiter.LimitedDataSource dataSource =
+            new DatabaseConcurrencyLimiter.LimitedDataSource(new FakeDataSource(), permits, streamingPermits, 10);
+
+    @Test
+    void streamingWorkDoesNotUseRequestPermits() throws Exception {
+        Connection[] streaming = new Connection[1];
+        DatabaseConcurrencyLimiter.streaming(out -> {
+            try {
+                streaming[0] = dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).writeTo(new ByteArrayOutputStream());
+
+        // The download still holds its connection, requests are unaffected
+        assertThat(streamingPermits.availablePermits()).isZero();
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(permits.availablePermits()).isZero();
+        }
+        assertThat(permits.availablePermits()).isEqualTo(1);
+
+        streaming[0].close();
+        assertThat(streamingPermits.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void requestsFailFastWhenPermitsRunOut() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+        dataSource.getConnection().close();
+        assertThat(permits.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+        assertThat(permits.availablePermits()).isEqualTo(1);
+    }
+
+    private static final class FakeDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
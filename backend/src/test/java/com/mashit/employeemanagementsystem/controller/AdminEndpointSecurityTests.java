@@ -0,0 +1,151 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.User;
+import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
+import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import com.mashit.employeemanagementsystem.repository.UserRepository;
+import com.mashit.employeemanagementsystem.security.AuthenticatedPrincipalCache;
+import com.mashit.employeemanagementsystem.security.CustomUserDetails;
+import com.mashit.employeemanagementsystem.security.JwtKeyRing;
+import com.mashit.employeemanagementsystem.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /api/admin endpoints are admin-only through the URL rules, whatever the rules
+ * for the rest of the API are.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminEndpointSecurityTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private String adminToken;
+    private String employeeToken;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = token("ADMIN");
+        employeeToken = token("EMPLOYEE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> users.forEach(user -> {
+            userRepository.deleteById(user.getId());
+            employeeRepository.deleteById(user.getEmployee().getEmployeeId());
+        }));
+    }
+
+    @Test
+    void anonymousCallersCannotManageKeys() throws Exception {
+        String activeKeyId = keyRing.getActiveKeyId();
+
+        mockMvc.perform(get("/api/admin/jwt-keys")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/admin/jwt-keys/rotate")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/admin/jwt-keys/" + activeKeyId + "/activate"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/api/admin/jwt-keys/" + activeKeyId)).andExpect(status().isUnauthorized());
+
+        assertThat(keyRing.getActiveKeyId()).isEqualTo(activeKeyId);
+    }
+
+    @Test
+    void nonAdminsCannotManageKeys() throws Exception {
+        String activeKeyId = keyRing.getActiveKeyId();
+
+        mockMvc.perform(get("/api/admin/jwt-keys").header(HttpHeaders.AUTHORIZATION, employeeToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/admin/jwt-keys/rotate").header(HttpHeaders.AUTHORIZATION, employeeToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/admin/jwt-keys/" + activeKeyId)
+                        .header(HttpHeaders.AUTHORIZATION, employeeToken))
+                .andExpect(status().isForbidden());
+
+        assertThat(keyRing.getActiveKeyId()).isEqualTo(activeKeyId);
+    }
+
+    @Test
+    void adminsCanListKeys() throws Exception {
+        mockMvc.perform(get("/api/admin/jwt-keys").header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void onlyAdminsCanFlushThePrincipalCache() throws Exception {
+        long invalidations = principalCache.getStats().getInvalidations();
+
+        mockMvc.perform(delete("/api/admin/auth-cache")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/admin/auth-cache/stats")).andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/api/admin/auth-cache").header(HttpHeaders.AUTHORIZATION, employeeToken))
+                .andExpect(status().isForbidden());
+        assertThat(principalCache.getStats().getInvalidations()).isEqualTo(invalidations);
+
+        mockMvc.perform(delete("/api/admin/auth-cache").header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isNoContent());
+        assertThat(principalCache.getStats().getInvalidations()).isGreaterThan(invalidations);
+    }
+
+    // Bearer header value for a new user holding the role
+    private String token(String roleName) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        CustomUserDetails principal = transactionTemplate.execute(status -> {
+            Employee employee = new Employee();
+            employee.setFirstName("Admin");
+            employee.setLastName("Security");
+            employee.setEmail("admin.security." + suffix + "@example.com");
+            employee.setRole(roleRepository.findByName(roleName).orElseThrow());
+            employee = employeeRepository.save(employee);
+
+            User user = new User();
+            user.setUsername("as" + suffix);
+            user.setPassword("not-a-real-hash");
+            user.setEmployee(employee);
+            users.add(userRepository.save(user));
+            return CustomUserDetails.build(user);
+        });
+        return "Bearer " + jwtUtil.generateToken(principal);
+    }
+}
@@ -0,0 +1,141 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.entity.User;
+import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
+import com.mashit.employeemanagementsystem.repository.LeaveRequestRepository;
+import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import com.mashit.employeemanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Single resources are tagged with their versions: a revalidation with the
+ * current tag is a bodiless 304, and a write against an outdated tag is a 412
+ * that leaves the resource alone.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestTests {
+
+    private static final String STALE_TAG = "\"999\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Role role;
+    private Employee employee;
+    private User user;
+    private LeaveRequest leaveRequest;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        transactionTemplate.executeWithoutResult(status -> {
+            Role newRole = new Role();
+            newRole.setName("ETAG_" + suffix);
+            role = roleRepository.save(newRole);
+
+            Employee newEmployee = new Employee();
+            newEmployee.setFirstName("Conditional");
+            newEmployee.setLastName("Request");
+            newEmployee.setEmail("conditional.request." + suffix + "@example.com");
+            newEmployee.setRole(role);
+            employee = employeeRepository.save(newEmployee);
+
+            User newUser = new User();
+            newUser.setUsername("cr" + suffix);
+            newUser.setPassword("not-a-real-hash");
+            newUser.setEmployee(employee);
+            user = userRepository.save(newUser);
+
+            LeaveRequest newLeaveRequest = new LeaveRequest();
+            newLeaveRequest.setEmployee(employee);
+            newLeaveRequest.setStartDate(LocalDate.now().plusDays(1));
+            newLeaveRequest.setEndDate(LocalDate.now().plusDays(2));
+            leaveRequest = leaveRequestRepository.save(newLeaveRequest);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            leaveRequestRepository.deleteById(leaveRequest.getId());
+            userRepository.deleteById(user.getId());
+            employeeRepository.deleteById(employee.getEmployeeId());
+            roleRepository.deleteById(role.getRoleId());
+        });
+    }
+
+    @Test
+    void employees() throws Exception {
+        assertConditional("/api/employees/" + employee.getEmployeeId());
+    }
+
+    @Test
+    void users() throws Exception {
+        assertConditional("/api/users/" + user.getId());
+    }
+
+    @Test
+    void roles() throws Exception {
+        assertConditional("/api/roles/" + role.getRoleId());
+    }
+
+    @Test
+    void leaveRequests() throws Exception {
+        assertConditional("/api/leave-requests/" + leaveRequest.getId());
+    }
+
+    private void assertConditional(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(delete(url).header(HttpHeaders.IF_MATCH, STALE_TAG))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
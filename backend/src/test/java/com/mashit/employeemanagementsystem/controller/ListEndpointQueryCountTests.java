@@ -0,0 +1,216 @@
+package com.mashit.employeemanagementsystem.controller;
+
+import com.mashit.employeemanagementsystem.dto.LeaveRequestView;
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.entity.User;
+import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
+import com.mashit.employeemanagementsystem.repository.LeaveRequestRepository;
+import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import com.mashit.employeemanagementsystem.repository.UserRepository;
+import com.mashit.employeemanagementsystem.service.LeaveRequestService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every list endpoint must load its rows in a constant number of statements,
+ * however many rows and associations there are. The response bodies are
+ * serialized so any lazy association touched by Jackson is counted too.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListEndpointQueryCountTests {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Autowired
+    private UserController userController;
+
+    @Autowired
+    private LeaveRequestController leaveRequestController;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private final List<Long> employeeIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Role> roles = roleRepository.findAll();
+            for (int i = 0; i < ROWS; i++) {
+                Employee employee = new Employee();
+                employee.setFirstName("Query" + i);
+                employee.setLastName("Count" + suffix);
+                employee.setEmail("query.count." + i + "." + suffix + "@example.com");
+                employee.setRole(roles.get(i % roles.size()));
+                employee = employeeRepository.save(employee);
+                employeeIds.add(employee.getEmployeeId());
+
+                User user = new User();
+                user.setUsername("qc" + i + suffix);
+                user.setPassword("not-a-real-hash");
+                user.setEmployee(employee);
+                userRepository.save(user);
+
+                LeaveRequest leaveRequest = new LeaveRequest();
+                leaveRequest.setEmployee(employee);
+                leaveRequest.setStartDate(LocalDate.now().plusDays(i));
+                leaveRequest.setEndDate(LocalDate.now().plusDays(i + 1));
+                leaveRequestRepository.save(leaveRequest);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long employeeId : employeeIds) {
+                leaveRequestRepository.deleteAll(leaveRequestRepository.findByEmployeeId(employeeId));
+                userRepository.findByEmployeeId(employeeId).ifPresent(userRepository::delete);
+                employeeRepository.deleteById(employeeId);
+            }
+        });
+    }
+
+    @Test
+    void employeePageIsOneStatement() {
+        assertStatements(1, () -> employeeController.getAllEmployees(null, ROWS));
+    }
+
+    @Test
+    void employeeSearchIsOneStatement() {
+        assertStatements(1, () -> employeeController.searchEmployeesByName("Query", ROWS));
+    }
+
+    @Test
+    void employeeStreamIsOneStatement() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        statistics.clear();
+        employeeController.streamEmployees(response);
+
+        assertThat(response.getContentAsString()).contains("query.count.");
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void exportsAreOneStatement() throws Exception {
+        assertExportStatements(employeeController.exportEmployees("json"));
+        assertExportStatements(userController.exportUsers());
+        assertExportStatements(leaveRequestController.exportLeaveRequests("json"));
+    }
+
+    @Test
+    void userListsAreOneStatement() {
+        assertStatements(1, () -> userController.getAllUsers());
+        assertStatements(1, () -> userController.getAllActiveUsers());
+    }
+
+    @Test
+    void userListsNeverExposePasswords() {
+        String json = objectMapper.writeValueAsString(userController.getAllUsers().getBody());
+
+        assertThat(json).doesNotContain("password");
+    }
+
+    @Test
+    void leaveRequestListsAreOneStatement() {
+        assertStatements(1, () -> leaveRequestController.getAllLeaveRequests(
+                null, null, null, null, null, LeaveRequestService.DEFAULT_SORT, null, ROWS));
+        assertStatements(1, () -> leaveRequestController.getAllLeaveRequests(
+                "pending", employeeIds.get(0), null, LocalDate.now(), LocalDate.now().plusDays(30), "employee,desc",
+                null, ROWS));
+        assertStatements(1, () -> leaveRequestController.getPendingLeaveRequests());
+        assertStatements(1, () -> leaveRequestController.getLeaveRequestsByEmployeeId(employeeIds.get(0)));
+    }
+
+    @Test
+    void leaveRequestCursorsVisitEveryRowOnce() {
+        // Every test row has the same last name, so the id tie-break decides the page boundaries
+        for (String sort : List.of("employee,asc", "startDate,desc", "department,desc")) {
+            Set<Long> seen = new HashSet<>();
+            String after = null;
+            do {
+                ResponseEntity<List<LeaveRequestView>> page = leaveRequestController.getAllLeaveRequests(
+                        null, null, null, null, null, sort, after, 7);
+                page.getBody().forEach(view -> assertThat(seen.add(view.getId())).isTrue());
+                after = page.getHeaders().getFirst(LeaveRequestController.NEXT_CURSOR_HEADER);
+            } while (after != null);
+
+            assertThat(seen).hasSize((int) leaveRequestRepository.count());
+        }
+    }
+
+    private void assertStatements(long maxStatements, Supplier<ResponseEntity<?>> endpoint) {
+        statistics.clear();
+
+        ResponseEntity<?> response = endpoint.get();
+        objectMapper.writeValueAsString(response.getBody());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(maxStatements);
+    }
+
+    private void assertExportStatements(ResponseEntity<StreamingResponseBody> export) throws IOException {
+        statistics.clear();
+        String json = write(export).toString(StandardCharsets.UTF_8);
+
+        assertThat(json).startsWith("[").endsWith("]").contains("query.count.");
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    private static ByteArrayOutputStream write(ResponseEntity<StreamingResponseBody> export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.getBody().writeTo(out);
+        return out;
+    }
+}
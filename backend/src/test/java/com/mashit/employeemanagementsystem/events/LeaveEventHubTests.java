@@ -0,0 +1,252 @@
+package com.mashit.employeemanagementsystem.events;
+
+import com.mashit.employeemanagementsystem.dto.EmployeeSummary;
+import com.mashit.employeemanagementsystem.dto.LeaveRequestView;
+import com.mashit.employeemanagementsystem.dto.RoleSummary;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
+import com.mashit.employeemanagementsystem.entity.LeaveStatus;
+import com.mashit.employeemanagementsystem.outbox.OutboxPublisher;
+import com.mashit.employeemanagementsystem.outbox.OutboxRelay;
+import com.mashit.employeemanagementsystem.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Leave event streams over the change feed. Events are written to the outbox
+ * directly, with negative ids, and relayed when a test says so.
+ */
+@SpringBootTest(properties = "app.outbox.relay-interval-ms=3600000")
+@AutoConfigureMockMvc
+class LeaveEventHubTests {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(-1);
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String finance;
+    private String sales;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        finance = "Finance " + suffix;
+        sales = "Sales " + suffix;
+        publishAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publishAll();
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id < 0 " +
+                "AND sequence_number < (SELECT MAX(sequence_number) FROM outbox_events)");
+    }
+
+    @Test
+    void newStreamStartsReadyAndOnlyGetsItsDepartment() throws Exception {
+        long latest = latestSequence();
+        MvcResult stream = open(get("/api/leave-requests/events").param("department", finance));
+
+        long first = publish(finance, ChangeType.CREATED);
+        publish(sales, ChangeType.CREATED);
+        publishEmployeeChange();
+        long second = publish(finance, ChangeType.DELETED);
+        publishAll();
+
+        awaitEvents(stream, 3);
+        assertThat(events(stream))
+                .extracting(SentEvent::name, SentEvent::id)
+                .containsExactly(
+                        tuple(LeaveEventHub.READY_EVENT, latest),
+                        tuple(LeaveEventHub.CHANGE_EVENT, first),
+                        tuple(LeaveEventHub.CHANGE_EVENT, second));
+        assertThat(events(stream).get(2).data()).contains("\"changeType\":\"DELETED\"").contains(finance);
+    }
+
+    @Test
+    void streamWithoutDepartmentGetsEveryDepartment() throws Exception {
+        MvcResult stream = open(get("/api/leave-requests/events"));
+
+        long first = publish(finance, ChangeType.CREATED);
+        long second = publish(sales, ChangeType.UPDATED);
+        publishAll();
+
+        awaitEvents(stream, 3);
+        assertThat(changeIds(stream)).containsExactly(first, second);
+    }
+
+    @Test
+    void reconnectResumesAfterLastEventId() throws Exception {
+        long lastSeen = publish(finance, ChangeType.CREATED);
+        long missedFinance = publish(finance, ChangeType.UPDATED);
+        publish(sales, ChangeType.UPDATED);
+        long missedFinanceAgain = publish(finance, ChangeType.DELETED);
+        publishAll();
+
+        MvcResult stream = open(get("/api/leave-requests/events")
+                .param("department", finance)
+                .header("Last-Event-ID", String.valueOf(lastSeen)));
+        long live = publish(finance, ChangeType.CREATED);
+        publishAll();
+
+        awaitEvents(stream, 3);
+        assertThat(events(stream)).extracting(SentEvent::name).containsOnly(LeaveEventHub.CHANGE_EVENT);
+        assertThat(changeIds(stream)).containsExactly(missedFinance, missedFinanceAgain, live);
+    }
+
+    @Test
+    void reconnectAfterPurgedEventsGetsReset() throws Exception {
+        long lastSeen = publish(finance, ChangeType.CREATED);
+        long purged = publish(finance, ChangeType.UPDATED);
+        publish(finance, ChangeType.UPDATED);
+        publishAll();
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE sequence_number = ?", purged);
+
+        MvcResult stream = open(get("/api/leave-requests/events")
+                .param("department", finance)
+                .header("Last-Event-ID", String.valueOf(lastSeen)));
+
+        awaitEvents(stream, 1);
+        assertThat(events(stream))
+                .extracting(SentEvent::name, SentEvent::id)
+                .containsExactly(tuple(LeaveEventHub.RESET_EVENT, latestSequence()));
+    }
+
+    @Test
+    void reconnectWithForeignIdGetsReset() throws Exception {
+        long latest = latestSequence();
+
+        MvcResult stream = open(get("/api/leave-requests/events")
+                .param("department", finance)
+                .header("Last-Event-ID", "l8k2x-42"));
+        long live = publish(finance, ChangeType.CREATED);
+        publishAll();
+
+        awaitEvents(stream, 2);
+        assertThat(events(stream))
+                .extracting(SentEvent::name, SentEvent::id)
+                .containsExactly(tuple(LeaveEventHub.RESET_EVENT, latest), tuple(LeaveEventHub.CHANGE_EVENT, live));
+    }
+
+    private MvcResult open(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    // Relays the event and returns its sequence
+    private long publish(String department, ChangeType changeType) {
+        long id = NEXT_ID.getAndDecrement();
+        LeaveRequestView view = new LeaveRequestView(id, LocalDate.now(), LocalDate.now().plusDays(1),
+                LeaveStatus.PENDING, new EmployeeSummary(id, "Leave", "Events", "leave.events@example.com",
+                department, "Analyst", new RoleSummary(1L, "EMPLOYEE")));
+        transactionTemplate.executeWithoutResult(status ->
+                outboxPublisher.publish(AggregateType.LEAVE_REQUEST, id, changeType, view));
+        publishAll();
+        return jdbcTemplate.queryForObject("SELECT sequence_number FROM outbox_events " +
+                "WHERE aggregate_type = 'LEAVE_REQUEST' AND aggregate_id = ? ORDER BY sequence_number DESC LIMIT 1",
+                Long.class, id);
+    }
+
+    private void publishEmployeeChange() {
+        long id = NEXT_ID.getAndDecrement();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxPublisher.publish(AggregateType.EMPLOYEE, id, ChangeType.DELETED, null));
+    }
+
+    private void publishAll() {
+        awaitTrue(() -> {
+            outboxRelay.relay();
+            return jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM outbox_events WHERE sequence_number IS NULL", Long.class) == 0;
+        });
+    }
+
+    private long latestSequence() {
+        return outboxEventRepository.findLatestSequence().orElse(0L);
+    }
+
+    private static List<Long> changeIds(MvcResult stream) throws Exception {
+        return events(stream).stream()
+                .filter(event -> event.name().equals(LeaveEventHub.CHANGE_EVENT))
+                .map(SentEvent::id)
+                .toList();
+    }
+
+    private static void awaitEvents(MvcResult stream, int count) {
+        awaitTrue(() -> events(stream).size() >= count);
+    }
+
+    // Events in the order sent, heartbeat comments left out
+    private static List<SentEvent> events(MvcResult stream) throws Exception {
+        List<SentEvent> events = new ArrayList<>();
+        for (String block : stream.getResponse().getContentAsString().split("\n\n")) {
+            Map<String, String> fields = new HashMap<>();
+            block.lines()
+                    .filter(line -> !line.startsWith(":") && line.indexOf(':') > 0)
+                    .forEach(line -> fields.put(line.substring(0, line.indexOf(':')),
+                            line.substring(line.indexOf(':') + 1)));
+            if (fields.containsKey("event")) {
+                events.add(new SentEvent(Long.parseLong(fields.get("id")), fields.get("event"), fields.get("data")));
+            }
+        }
+        return events;
+    }
+
+    private static void awaitTrue(ThrowingBooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        try {
+            while (!condition.getAsBoolean()) {
+                assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+                Thread.sleep(20);
+            }
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private record SentEvent(long id, String name, String data) {
+    }
+
+    @FunctionalInterface
+    private interface ThrowingBooleanSupplier {
+        boolean getAsBoolean() throws Exception;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mashit.employeemanagementsystem.exception;
+
+import com.mashit.employeemanagementsystem.dto.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTests {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/auth/login"));
+
+    @Test
+    void saturatedPasswordHashingDuringLoginIsA429() {
+        TooManyRequestsException saturated = new TooManyRequestsException("Too many sign-in attempts", 2);
+
+        ResponseEntity<ErrorResponse> response = handler.handleInternalAuthenticationServiceException(
+                new InternalAuthenticationServiceException(saturated.getMessage(), saturated), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getBody().getPath()).isEqualTo("/api/auth/login");
+    }
+
+    @Test
+    void otherAuthenticationFailuresStay500s() {
+        ResponseEntity<ErrorResponse> response = handler.handleInternalAuthenticationServiceException(
+                new InternalAuthenticationServiceException("lookup failed", new IllegalStateException()), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,293 @@
+package com.mashit.employeemanagementsystem.export;
+
+import com.mashit.employeemanagementsystem.controller.EmployeeController;
+import com.mashit.employeemanagementsystem.controller.LeaveRequestController;
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.LeaveRequest;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
+import com.mashit.employeemanagementsystem.repository.LeaveRequestRepository;
+import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV and Arrow exports against the database. A small batch size makes the
+ * Arrow stream span several record batches.
+ */
+@SpringBootTest(properties = "app.export.batch-size=7")
+class TableExporterTests {
+
+    private static final String FORMULA = "=HYPERLINK(\"http://example.com\")";
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Autowired
+    private LeaveRequestController leaveRequestController;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String department;
+    private String roleName;
+    private Employee quoted;
+    private Employee sparse;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        department = "Export " + suffix;
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = roleRepository.findAll().get(0);
+            roleName = role.getName();
+
+            Employee employee = new Employee();
+            employee.setFirstName("Smith, \"Jr\"");
+            employee.setLastName("Line1\r\nLine2");
+            employee.setEmail("export.quoted." + suffix + "@example.com");
+            employee.setPosition(FORMULA);
+            employee.setHireDate(LocalDate.of(2024, 2, 29));
+            employee.setSalary(-1250.5);
+            employee.setRole(role);
+            quoted = employeeRepository.save(employee);
+
+            employee = new Employee();
+            employee.setFirstName("+Plus");
+            employee.setLastName("-Minus");
+            employee.setEmail("export.sparse." + suffix + "@example.com");
+            employee.setPhoneNumber("@home");
+            employee.setDepartment(department);
+            employee.setPosition("Plain");
+            employee.setRole(role);
+            sparse = employeeRepository.save(employee);
+
+            LeaveRequest leaveRequest = new LeaveRequest();
+            leaveRequest.setEmployee(sparse);
+            leaveRequest.setStartDate(LocalDate.now());
+            leaveRequest.setEndDate(LocalDate.now().plusDays(1));
+            leaveRequestRepository.save(leaveRequest);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Employee employee : List.of(quoted, sparse)) {
+                leaveRequestRepository.deleteAll(leaveRequestRepository.findByEmployeeId(employee.getEmployeeId()));
+                employeeRepository.deleteById(employee.getEmployeeId());
+            }
+        });
+    }
+
+    @Test
+    void csvExportsHaveEveryRow() throws Exception {
+        String employees = write(employeeController.exportEmployees("csv")).toString(StandardCharsets.UTF_8);
+        String leaveRequests = write(leaveRequestController.exportLeaveRequests("csv"))
+                .toString(StandardCharsets.UTF_8);
+
+        assertThat(employees).startsWith("employee_id,first_name,last_name,email,");
+        assertThat(csvRecords(employees)).hasSize((int) employeeRepository.count() + 1);
+        assertThat(leaveRequests).startsWith("id,employee_id,start_date,end_date,status\r\n");
+        assertThat(csvRecords(leaveRequests)).hasSize((int) leaveRequestRepository.count() + 1);
+    }
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() throws Exception {
+        String csv = write(employeeController.exportEmployees("csv")).toString(StandardCharsets.UTF_8);
+
+        assertThat(csv).contains(quoted.getEmployeeId() + ",\"Smith, \"\"Jr\"\"\",\"Line1\r\nLine2\",");
+        assertThat(csvRow(csv, quoted).subList(0, 4)).containsExactly(
+                String.valueOf(quoted.getEmployeeId()), "Smith, \"Jr\"", "Line1\r\nLine2", quoted.getEmail());
+    }
+
+    @Test
+    void csvWritesNullsAsEmptyFieldsAndKeepsNumbersAsTheyAre() throws Exception {
+        String csv = write(employeeController.exportEmployees("csv")).toString(StandardCharsets.UTF_8);
+
+        assertThat(csvRow(csv, quoted).subList(4, 10))
+                .containsExactly("", "", "'" + FORMULA, "2024-02-29", "-1250.5", roleName);
+        assertThat(csvRow(csv, sparse).subList(7, 9)).containsExactly("", "");
+    }
+
+    @Test
+    void csvNeutralizesFormulas() throws Exception {
+        String csv = write(employeeController.exportEmployees("csv")).toString(StandardCharsets.UTF_8);
+
+        assertThat(csvRow(csv, sparse).subList(1, 7))
+                .containsExactly("'+Plus", "'-Minus", sparse.getEmail(), "'@home", department, "Plain");
+        assertThat(csvRow(csv, quoted).get(6)).isEqualTo("'" + FORMULA);
+    }
+
+    @Test
+    void arrowExportsHaveEveryRow() throws Exception {
+        assertThat(arrowRows(employeeController.exportEmployees("arrow"))).hasSize((int) employeeRepository.count());
+        assertThat(arrowRows(leaveRequestController.exportLeaveRequests("arrow")))
+                .hasSize((int) leaveRequestRepository.count());
+    }
+
+    @Test
+    void arrowSchemaHasTheColumnTypes() throws Exception {
+        List<Field> fields;
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = reader(employeeController.exportEmployees("arrow"), allocator)) {
+            fields = reader.getVectorSchemaRoot().getSchema().getFields();
+        }
+
+        Map<String, ArrowType> types = new HashMap<>();
+        fields.forEach(field -> types.put(field.getName(), field.getType()));
+        assertThat(fields).extracting(Field::getName).containsExactlyElementsOf(
+                ExportTable.EMPLOYEES.getColumns().stream().map(ExportColumn::name).toList());
+        assertThat(fields).allMatch(Field::isNullable);
+        assertThat(types.get("employee_id")).isEqualTo(new ArrowType.Int(64, true));
+        assertThat(types.get("first_name")).isEqualTo(ArrowType.Utf8.INSTANCE);
+        assertThat(types.get("hire_date")).isEqualTo(new ArrowType.Date(DateUnit.DAY));
+        assertThat(types.get("salary")).isEqualTo(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE));
+        assertThat(types.get("created_at")).isEqualTo(new ArrowType.Timestamp(TimeUnit.MICROSECOND, null));
+    }
+
+    @Test
+    void arrowHasTheValuesAsStored() throws Exception {
+        Map<Long, Map<String, Object>> rows = new HashMap<>();
+        arrowRows(employeeController.exportEmployees("arrow"))
+                .forEach(row -> rows.put((Long) row.get("employee_id"), row));
+        LocalDateTime createdAt = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM employees WHERE employee_id = ?", LocalDateTime.class, quoted.getEmployeeId());
+
+        Map<String, Object> row = rows.get(quoted.getEmployeeId());
+        assertThat(row.get("first_name")).isEqualTo("Smith, \"Jr\"");
+        assertThat(row.get("last_name")).isEqualTo("Line1\r\nLine2");
+        assertThat(row.get("position")).isEqualTo(FORMULA);
+        assertThat(row.get("phone_number")).isNull();
+        assertThat(row.get("department")).isNull();
+        assertThat(row.get("hire_date")).isEqualTo((int) LocalDate.of(2024, 2, 29).toEpochDay());
+        assertThat(row.get("salary")).isEqualTo(-1250.5);
+        assertThat(row.get("role")).isEqualTo(roleName);
+        assertThat(row.get("created_at")).isEqualTo(createdAt);
+
+        row = rows.get(sparse.getEmployeeId());
+        assertThat(row.get("first_name")).isEqualTo("+Plus");
+        assertThat(row.get("phone_number")).isEqualTo("@home");
+        assertThat(row.get("hire_date")).isNull();
+        assertThat(row.get("salary")).isNull();
+    }
+
+    private static ByteArrayOutputStream write(ResponseEntity<StreamingResponseBody> export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.getBody().writeTo(out);
+        return out;
+    }
+
+    private static List<String> csvRow(String csv, Employee employee) {
+        return csvRecords(csv).stream()
+                .filter(record -> record.get(0).equals(String.valueOf(employee.getEmployeeId())))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // RFC 4180 records, line breaks inside quoted fields included
+    private static List<List<String>> csvRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+                i++;
+            } else {
+                field.append(c);
+            }
+        }
+        assertThat(field).isEmpty();
+        assertThat(record).isEmpty();
+        return records;
+    }
+
+    private static ArrowStreamReader reader(ResponseEntity<StreamingResponseBody> export, RootAllocator allocator)
+            throws IOException {
+        return new ArrowStreamReader(new ByteArrayInputStream(write(export).toByteArray()), allocator);
+    }
+
+    // Every row by column name, text as strings
+    private static List<Map<String, Object>> arrowRows(ResponseEntity<StreamingResponseBody> export)
+            throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = reader(export, allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    Map<String, Object> row = new HashMap<>();
+                    for (FieldVector vector : root.getFieldVectors()) {
+                        Object value = vector.getObject(i);
+                        row.put(vector.getName(), value == null || value instanceof Number
+                                || value instanceof LocalDateTime ? value : value.toString());
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+}
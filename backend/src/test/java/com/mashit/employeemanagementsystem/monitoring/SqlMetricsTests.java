@@ -0,0 +1,38 @@
+package com.mashit.employeemanagementsystem.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlMetrics sqlMetrics = new SqlMetrics(registry, 200, 3);
+
+    @Test
+    void statementsOnOtherThreadsAreUnattributed() {
+        SqlRequestStats stats = sqlMetrics.begin();
+        sqlMetrics.recordStatement("select 1", 1_000);
+        // Like a streaming body or @Async task started by the request
+        CompletableFuture.runAsync(() -> sqlMetrics.recordStatement("select 2", 1_000)).join();
+        sqlMetrics.end(stats, "TestController.get");
+
+        assertThat(stats.getQueryCount()).isEqualTo(1);
+        assertThat(registry.get("db.request.queries").tag("handler", "TestController.get").summary().totalAmount())
+                .isEqualTo(1);
+        assertThat(registry.get("db.unattributed.queries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void statementsAfterTheRequestEndedAreUnattributed() {
+        SqlRequestStats stats = sqlMetrics.begin();
+        sqlMetrics.end(stats, "TestController.get");
+        sqlMetrics.recordStatement("select 1", 1_000);
+
+        assertThat(stats.getQueryCount()).isZero();
+        assertThat(registry.get("db.unattributed.queries").counter().count()).isEqualTo(1);
+    }
+}
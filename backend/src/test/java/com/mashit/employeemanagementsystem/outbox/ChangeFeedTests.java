@@ -0,0 +1,313 @@
+package com.mashit.employeemanagementsystem.outbox;
+
+import com.mashit.employeemanagementsystem.dto.ChangeEvent;
+import com.mashit.employeemanagementsystem.entity.AggregateType;
+import com.mashit.employeemanagementsystem.entity.ChangeType;
+import com.mashit.employeemanagementsystem.entity.OutboxEvent;
+import com.mashit.employeemanagementsystem.exception.ChangeFeedExpiredException;
+import com.mashit.employeemanagementsystem.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * The outbox relay and change feed against the database. The scheduled relay is
+ * slowed down so each test decides when events are published. Test events use
+ * negative aggregate ids and are removed afterwards, except for the newest one
+ * that numbering continues from.
+ */
+@SpringBootTest(properties = "app.outbox.relay-interval-ms=3600000")
+@AutoConfigureMockMvc
+class ChangeFeedTests {
+
+    private static final AtomicLong NEXT_AGGREGATE_ID = new AtomicLong(-1);
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        publishAll();
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id < 0 " +
+                "AND sequence_number < (SELECT MAX(sequence_number) FROM outbox_events)");
+    }
+
+    @Test
+    void concurrentRelaysNumberWithoutGaps() throws Exception {
+        publishAll();
+        long start = latestSequence();
+        int writers = 8;
+        int transactionsPerWriter = 10;
+        int eventsPerTransaction = 5;
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> relays = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            relays.add(executor.submit(() -> {
+                while (writing.get()) {
+                    transactionTemplate.execute(status -> outboxEventRepository.publishPending(7));
+                }
+            }));
+        }
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            writes.add(executor.submit(() -> {
+                for (int t = 0; t < transactionsPerWriter; t++) {
+                    insertEvents(eventsPerTransaction);
+                }
+            }));
+        }
+        for (Future<?> write : writes) {
+            write.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        writing.set(false);
+        for (Future<?> relay : relays) {
+            relay.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        publishAll();
+
+        List<Long> sequences = jdbcTemplate.queryForList(
+                "SELECT sequence_number FROM outbox_events WHERE sequence_number > ? ORDER BY sequence_number",
+                Long.class, start);
+        int inserted = writers * transactionsPerWriter * eventsPerTransaction;
+        assertThat(sequences).hasSize(inserted);
+        assertThat(sequences).containsExactlyElementsOf(LongStream.rangeClosed(start + 1, start + inserted).boxed()
+                .toList());
+    }
+
+    @Test
+    void readAfterPurgedEventsIsGone() {
+        insertEvents(1);
+        List<Long> ids = insertEvents(3);
+        publishAll();
+        List<Long> sequences = sequencesOf(ids);
+
+        // What the purge does to events older than the retention
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE sequence_number = ?", sequences.get(1));
+
+        assertThatThrownBy(() -> changeFeed.read(sequences.get(0), 10))
+                .isInstanceOf(ChangeFeedExpiredException.class);
+        assertThatThrownBy(() -> changeFeed.subscribe(sequences.get(0)))
+                .isInstanceOf(ChangeFeedExpiredException.class);
+        assertThat(changeFeed.read(sequences.get(1), 10))
+                .extracting(ChangeEvent::getSequence)
+                .containsExactly(sequences.get(2));
+    }
+
+    @Test
+    void readFromZeroStartsAtTheOldestEvent() {
+        insertEvents(2);
+        publishAll();
+
+        List<ChangeEvent> events = changeFeed.read(0, 1);
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getSequence())
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT MIN(sequence_number) FROM outbox_events", Long.class));
+    }
+
+    @Test
+    void pollTimesOutEmpty() throws Exception {
+        publishAll();
+
+        List<ChangeEvent> events = changeFeed.poll(latestSequence(), 10, 200).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void pollWakesUpWhenPublishedWhileItRegisters() throws Exception {
+        // Publication races the poll's read and waiter registration, neither may miss the other
+        for (int i = 0; i < 50; i++) {
+            publishAll();
+            long cursor = latestSequence();
+            insertEvents(1);
+
+            CountDownLatch go = new CountDownLatch(1);
+            Future<CompletableFuture<List<ChangeEvent>>> poll = executor.submit(() -> {
+                go.await();
+                return changeFeed.poll(cursor, 10, 2 * TIMEOUT_MS);
+            });
+            Future<?> relay = executor.submit(() -> {
+                go.await();
+                outboxRelay.relay();
+                return null;
+            });
+            go.countDown();
+            relay.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+            List<ChangeEvent> events = poll.get(TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            assertThat(events).extracting(ChangeEvent::getSequence).containsExactly(cursor + 1);
+        }
+    }
+
+    @Test
+    void parkedPollsAllWakeUp() throws Exception {
+        publishAll();
+        long cursor = latestSequence();
+        List<CompletableFuture<List<ChangeEvent>>> polls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            polls.add(changeFeed.poll(cursor, 10, 2 * TIMEOUT_MS));
+        }
+
+        insertEvents(3);
+        outboxRelay.relay();
+
+        for (CompletableFuture<List<ChangeEvent>> poll : polls) {
+            assertThat(poll.get(TIMEOUT_MS, TimeUnit.MILLISECONDS))
+                    .extracting(ChangeEvent::getSequence)
+                    .containsExactly(cursor + 1, cursor + 2, cursor + 3);
+        }
+    }
+
+    @Test
+    void streamReplaysTheBacklogThenFollowsLiveEvents() throws Exception {
+        publishAll();
+        long cursor = latestSequence();
+        insertEvents(5);
+        publishAll();
+
+        MvcResult stream = mockMvc.perform(get("/api/changes/stream").param("since", String.valueOf(cursor)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Published by several relays and writers while the backlog is being sent
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            writes.add(executor.submit(() -> {
+                for (int t = 0; t < 5; t++) {
+                    insertEvents(2);
+                    outboxRelay.relay();
+                }
+            }));
+        }
+        for (Future<?> write : writes) {
+            write.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        publishAll();
+
+        List<Long> expected = LongStream.rangeClosed(cursor + 1, cursor + 45).boxed().toList();
+        awaitTrue(() -> eventIds(stream).size() >= expected.size());
+        assertThat(eventIds(stream)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void streamResumesAfterLastEventId() throws Exception {
+        publishAll();
+        long cursor = latestSequence();
+        insertEvents(4);
+        publishAll();
+
+        MvcResult stream = mockMvc.perform(get("/api/changes/stream")
+                        .param("since", "0")
+                        .header("Last-Event-ID", String.valueOf(cursor + 2)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        awaitTrue(() -> eventIds(stream).size() >= 2);
+        assertThat(eventIds(stream)).containsExactly(cursor + 3, cursor + 4);
+    }
+
+    private List<Long> insertEvents(int count) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OutboxEvent event = new OutboxEvent();
+            event.setAggregateType(AggregateType.EMPLOYEE);
+            event.setAggregateId(NEXT_AGGREGATE_ID.getAndDecrement());
+            event.setChangeType(ChangeType.DELETED);
+            event.setOccurredAt(LocalDateTime.now());
+            events.add(event);
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.insertAll(events));
+        return events.stream().map(OutboxEvent::getAggregateId).toList();
+    }
+
+    private void publishAll() {
+        awaitTrue(() -> {
+            outboxRelay.relay();
+            return jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM outbox_events WHERE sequence_number IS NULL", Long.class) == 0;
+        });
+    }
+
+    private long latestSequence() {
+        return outboxEventRepository.findLatestSequence().orElse(0L);
+    }
+
+    private List<Long> sequencesOf(List<Long> aggregateIds) {
+        // Ids restart every run, the newest event of an earlier run is never deleted
+        return aggregateIds.stream()
+                .map(id -> jdbcTemplate.queryForObject("SELECT MAX(sequence_number) FROM outbox_events " +
+                        "WHERE aggregate_type = 'EMPLOYEE' AND aggregate_id = ?", Long.class, id))
+                .sorted()
+                .toList();
+    }
+
+    private static List<Long> eventIds(MvcResult stream) throws Exception {
+        return stream.getResponse().getContentAsString().lines()
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> Long.parseLong(line.substring(3).trim()))
+                .toList();
+    }
+
+    private static void awaitTrue(ThrowingBooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        try {
+            while (!condition.getAsBoolean()) {
+                assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+                Thread.sleep(20);
+            }
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingBooleanSupplier {
+        boolean getAsBoolean() throws Exception;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mashit.employeemanagementsystem.search;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchIndexTests {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex();
+        index.index(employee(1L, "Ann", "Smith", "ann.smith@example.com", "Sales", "Manager"));
+        index.index(employee(2L, "Anna", "Jones", "anna.jones@example.com", "Engineering", "Developer"));
+        index.index(employee(3L, "Peter", "Sales", "peter@example.com", "Finance", "Analyst"));
+        index.index(employee(4L, "Maria", "Garcia", "maria.garcia@example.com", "Sales", "Representative"));
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        assertThat(index.search("ann", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void nameMatchesRankAboveDepartmentMatches() {
+        assertThat(index.search("sales", 10)).containsExactly(3L, 1L, 4L);
+    }
+
+    @Test
+    void equalScoresAreOrderedByEmployeeId() {
+        index.index(employee(5L, "Ann", "Smith", "other@example.com", "Sales", "Manager"));
+
+        assertThat(index.search("smith", 10)).containsExactly(1L, 5L);
+    }
+
+    @Test
+    void prefixesMatchLongerTerms() {
+        assertThat(index.search("gar", 10)).containsExactly(4L);
+        assertThat(index.search("engin", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void everyTokenHasToMatch() {
+        assertThat(index.search("ann sales", 10)).containsExactly(1L);
+        assertThat(index.search("anna sales", 10)).isEmpty();
+    }
+
+    @Test
+    void typosAreTolerated() {
+        assertThat(index.search("garcai", 10)).containsExactly(4L);
+        assertThat(index.search("pteer", 10)).containsExactly(3L);
+        assertThat(index.search("representatve", 10)).containsExactly(4L);
+    }
+
+    @Test
+    void shortTokensAndTooManyEditsDoNotMatch() {
+        assertThat(index.search("anx", 10)).isEmpty();
+        assertThat(index.search("gxrxia", 10)).isEmpty();
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        assertThat(index.search("sales", 2)).containsExactly(3L, 1L);
+        assertThat(index.search("sales", 0)).isEmpty();
+    }
+
+    @Test
+    void removedAndReindexedEmployeesAreUpToDate() {
+        index.remove(1L);
+        index.index(employee(4L, "Maria", "Lopez", "maria.lopez@example.com", "Support", "Agent"));
+
+        assertThat(index.search("ann", 10)).containsExactly(2L);
+        assertThat(index.search("garcia", 10)).isEmpty();
+        assertThat(index.search("lopez", 10)).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void compactionKeepsTheSurvivors() {
+        for (long id = 100; id < 3100; id++) {
+            index.index(employee(id, "Temp" + id, "Worker", "temp" + id + "@example.com", "Sales", "Clerk"));
+        }
+        for (long id = 100; id < 3000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.search("worker", 200)).hasSize(100).startsWith(3000L).endsWith(3099L);
+        assertThat(index.search("maria", 10)).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(104);
+    }
+
+    @Test
+    void editDistanceCountsTranspositionsAsOneEdit() {
+        assertThat(EmployeeSearchIndex.editDistance("garcia", "garcai", 2)).isEqualTo(1);
+        assertThat(EmployeeSearchIndex.editDistance("smith", "smyth", 2)).isEqualTo(1);
+        assertThat(EmployeeSearchIndex.editDistance("smith", "jones", 2)).isEqualTo(3);
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String email,
+                                     String department, String position) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(email);
+        employee.setDepartment(department);
+        employee.setPosition(position);
+        return employee;
+    }
+}
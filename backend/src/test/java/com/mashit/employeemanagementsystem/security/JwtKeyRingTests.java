@@ -0,0 +1,59 @@
+package com.mashit.employeemanagementsystem.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Without a repository, so any database lookup on the verification path fails
+ */
+class JwtKeyRingTests {
+
+    private static final String SECRET = "TestSecretKeyForJwtKeyRingTestsMustBeAtLeast256BitsLong0123456789";
+
+    private JwtKeyRing keyRing;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = new JwtKeyRing(null, "default", SECRET);
+    }
+
+    @Test
+    void unknownKeyIdsAreRejectedWithoutALookup() {
+        for (int i = 0; i < 3; i++) {
+            String keyId = "random-" + i;
+            assertThatThrownBy(() -> keyRing.getKey(keyId))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining(keyId);
+        }
+    }
+
+    @Test
+    void storedKeysVerifyOnceAddedUntilRemoved() {
+        String secret = Base64.getEncoder().encodeToString(new byte[64]);
+
+        keyRing.put("k1", secret, false);
+        assertThat(keyRing.getKey("k1")).isNotNull();
+        assertThat(keyRing.getActiveKeyId()).isEqualTo("default");
+
+        keyRing.remove("k1");
+        assertThatThrownBy(() -> keyRing.getKey("k1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tokensSignedWithARemovedKeyNoLongerVerify() {
+        JwtUtil jwtUtil = new JwtUtil(keyRing, 60_000);
+        keyRing.put("k1", Base64.getEncoder().encodeToString(new byte[64]), true);
+        String token = jwtUtil.generateToken(new CustomUserDetails(1L, "user", null, 1L, "ADMIN", true, 0));
+        assertThat(jwtUtil.parse(token).getSubject()).isEqualTo("user");
+
+        keyRing.activateDefault();
+        keyRing.remove("k1");
+
+        assertThatThrownBy(() -> jwtUtil.parse(token)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
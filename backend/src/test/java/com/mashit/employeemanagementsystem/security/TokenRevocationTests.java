@@ -0,0 +1,178 @@
+package com.mashit.employeemanagementsystem.security;
+
+import com.mashit.employeemanagementsystem.entity.Employee;
+import com.mashit.employeemanagementsystem.entity.Role;
+import com.mashit.employeemanagementsystem.entity.User;
+import com.mashit.employeemanagementsystem.repository.EmployeeRepository;
+import com.mashit.employeemanagementsystem.repository.RoleRepository;
+import com.mashit.employeemanagementsystem.repository.UserRepository;
+import com.mashit.employeemanagementsystem.service.RoleService;
+import com.mashit.employeemanagementsystem.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Stateless tokens are accepted without a user lookup, so every change to what
+ * they carry has to revoke them. An admin-only endpoint tells whether a token
+ * still authenticates.
+ */
+@SpringBootTest(properties = "jwt.stateless=true")
+@AutoConfigureMockMvc
+class TokenRevocationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> employeeIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userIds.forEach(id -> userRepository.findById(id).ifPresent(userRepository::delete));
+            employeeIds.forEach(employeeRepository::deleteById);
+        });
+    }
+
+    @Test
+    void passwordChangeRevokesOnlyThatUsersTokens() throws Exception {
+        User user = newUser(newEmployee("ADMIN"));
+        String token = token(user);
+        String otherToken = token(newUser(newEmployee("ADMIN")));
+        assertThat(authenticates(token)).isTrue();
+
+        User details = new User();
+        details.setUsername(user.getUsername());
+        details.setPassword("a-new-password");
+        userService.updateUser(user.getId(), details, null);
+
+        assertThat(authenticates(token)).isFalse();
+        assertThat(authenticates(otherToken)).isTrue();
+    }
+
+    @Test
+    void reassigningTheEmployeeRevokesTokens() throws Exception {
+        User user = newUser(newEmployee("ADMIN"));
+        String token = token(user);
+        Employee otherAdmin = newEmployee("ADMIN");
+        assertThat(authenticates(token)).isTrue();
+
+        User details = new User();
+        details.setUsername(user.getUsername());
+        details.setEmployee(otherAdmin);
+        userService.updateUser(user.getId(), details, null);
+
+        // Still an admin, but the token carries the old employee id
+        assertThat(authenticates(token)).isFalse();
+        assertThat(authenticates(token(userService.getUserById(user.getId())))).isTrue();
+    }
+
+    @Test
+    void renamingARoleRevokesItsHoldersTokens() throws Exception {
+        String token = token(newUser(newEmployee("ADMIN")));
+        assertThat(authenticates(token)).isTrue();
+        Role admin = roleRepository.findByName("ADMIN").orElseThrow();
+
+        try {
+            roleService.updateRole(admin.getRoleId(), role("ADMIN_RENAMED"), null);
+
+            // The token still says ADMIN, which would pass the URL rule if it were accepted
+            assertThat(authenticates(token)).isFalse();
+        } finally {
+            roleService.updateRole(admin.getRoleId(), role("ADMIN"), null);
+        }
+    }
+
+    @Test
+    void deletedUsersTokensAreRejected() throws Exception {
+        User user = newUser(newEmployee("ADMIN"));
+        String token = token(user);
+        assertThat(authenticates(token)).isTrue();
+
+        userService.deleteUser(user.getId(), null);
+
+        assertThat(authenticates(token)).isFalse();
+    }
+
+    private boolean authenticates(String token) throws Exception {
+        int status = mockMvc.perform(get("/api/admin/auth-cache/stats")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+        assertThat(status).isIn(200, 401);
+        return status == 200;
+    }
+
+    private String token(User user) {
+        return transactionTemplate.execute(status ->
+                jwtUtil.generateStatelessToken(CustomUserDetails.build(userService.getUserById(user.getId()))));
+    }
+
+    private Employee newEmployee(String roleName) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return transactionTemplate.execute(status -> {
+            Employee employee = new Employee();
+            employee.setFirstName("Token");
+            employee.setLastName("Revocation");
+            employee.setEmail("token.revocation." + suffix + "@example.com");
+            employee.setRole(roleRepository.findByName(roleName).orElseThrow());
+            employee = employeeRepository.save(employee);
+            employeeIds.add(employee.getEmployeeId());
+            return employee;
+        });
+    }
+
+    private User newUser(Employee employee) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setUsername("tr" + suffix);
+            user.setPassword("not-a-real-hash");
+            user.setEmployee(employee);
+            user = userRepository.save(user);
+            userIds.add(user.getId());
+            return user;
+        });
+    }
+
+    private static Role role(String name) {
+        Role role = new Role();
+        role.setName(name);
+        return role;
+    }
+}
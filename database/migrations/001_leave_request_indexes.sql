@@ -0,0 +1,22 @@
+-- Indexes for the filtered leave request list (GET /api/leave-requests).
+-- CONCURRENTLY keeps the tables writable while the indexes build; run each
+-- statement outside a transaction block (psql -f runs them one by one).
+
+-- Employee history and the employee filter, in date order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_leave_requests_employee_start
+    ON leave_requests (employee_id, start_date);
+
+-- Approval screen: one status, newest or oldest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_leave_requests_status_start
+    ON leave_requests (status, start_date);
+
+-- Date range overlap (start_date <= :to AND end_date >= :from)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_leave_requests_dates
+    ON leave_requests (start_date, end_date);
+
+-- Department filter joins through employees
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_department
+    ON employees (department);
+
+ANALYZE leave_requests;
+ANALYZE employees;
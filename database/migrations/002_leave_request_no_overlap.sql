@@ -0,0 +1,16 @@
+-- One employee cannot hold two pending or approved leave requests whose dates
+-- overlap. The application checks this against its in-memory leave calendar;
+-- the constraint catches two requests submitted at the same moment.
+--
+-- Existing overlapping rows must be resolved first, this lists them:
+--   SELECT a.id, b.id FROM leave_requests a JOIN leave_requests b
+--     ON a.employee_id = b.employee_id AND a.id < b.id
+--    AND a.status IN ('PENDING', 'APPROVED') AND b.status IN ('PENDING', 'APPROVED')
+--    AND a.start_date <= b.end_date AND b.start_date <= a.end_date;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE leave_requests
+    ADD CONSTRAINT leave_requests_no_overlap
+    EXCLUDE USING gist (employee_id WITH =, daterange(start_date, end_date, '[]') WITH &&)
+    WHERE (status IN ('PENDING', 'APPROVED'));
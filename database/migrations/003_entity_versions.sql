@@ -0,0 +1,8 @@
+-- Optimistic locking columns. Every write bumps the version and fails when the
+-- row changed since it was read; the API exposes it as the ETag.
+-- Adding a column with a constant default does not rewrite the table.
+
+ALTER TABLE roles ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE leave_requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
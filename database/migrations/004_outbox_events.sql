@@ -0,0 +1,19 @@
+-- Change feed outbox. Mutations insert events in their own transaction, the
+-- relay numbers committed events in batches (sequence_number) and the feed
+-- serves them in that order.
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    payload TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    sequence_number BIGINT,
+    published_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_outbox_events_sequence ON outbox_events (sequence_number);
+
+-- The relay only scans events it has not numbered yet
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (id) WHERE sequence_number IS NULL;
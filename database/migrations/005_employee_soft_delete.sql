@@ -0,0 +1,28 @@
+-- Soft delete for employees and an index for the updated_at delta feed.
+-- Deleted rows keep their email, so uniqueness only applies to active employees.
+-- Run with psql -f, the CONCURRENTLY statements cannot be inside a transaction block.
+
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_updated_at ON employees (updated_at, employee_id);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_email_active ON employees (email)
+    WHERE deleted_at IS NULL;
+
+-- Drop the old table-wide unique constraint on email, whatever it was named
+DO $$
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = 'employees'::regclass
+          AND con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname = 'email'
+    LOOP
+        EXECUTE format('ALTER TABLE employees DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
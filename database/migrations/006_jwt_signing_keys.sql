@@ -0,0 +1,11 @@
+-- Rotated JWT signing keys, shared by every backend instance and kept across restarts.
+-- The key configured in jwt.secret is not stored; no row active means it signs new tokens.
+
+CREATE TABLE IF NOT EXISTS jwt_signing_keys (
+    key_id VARCHAR(64) PRIMARY KEY,
+    secret VARCHAR(128) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_jwt_signing_keys_active ON jwt_signing_keys (active) WHERE active;
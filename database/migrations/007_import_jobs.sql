@@ -0,0 +1,40 @@
+-- Background employee imports. Only schema.sql created these tables before, so
+-- databases set up from it or by Hibernate already have them.
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id SERIAL PRIMARY KEY,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    staging_file VARCHAR(255) NOT NULL,
+    submitted_by VARCHAR(50),
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    error_message VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS import_job_errors (
+    id SERIAL PRIMARY KEY,
+    job_id INT NOT NULL,
+    row_number BIGINT NOT NULL,
+    row_key VARCHAR(255),
+    message VARCHAR(1000) NOT NULL,
+    CONSTRAINT fk_import_job_error_job
+        FOREIGN KEY (job_id)
+        REFERENCES import_jobs(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_job_errors_job ON import_job_errors (job_id, row_number);
+
+-- Import jobs record the instance running them and a heartbeat from the database clock,
+-- so a starting instance only requeues jobs whose owner stopped heartbeating.
+
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS owner VARCHAR(100);
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_import_jobs_running ON import_jobs (heartbeat_at) WHERE status = 'RUNNING';
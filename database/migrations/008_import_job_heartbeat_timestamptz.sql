@@ -0,0 +1,7 @@
+-- heartbeat_at was a TIMESTAMP written with now(), which stores the time in the
+-- writing session's time zone, so instances in different zones disagreed about
+-- which jobs were stale. As a TIMESTAMPTZ it is an instant. Existing values are
+-- read in the zone of the session running this script; they are rewritten by the
+-- next heartbeat anyway.
+
+ALTER TABLE import_jobs ALTER COLUMN heartbeat_at TYPE TIMESTAMPTZ;
@@ -3,7 +3,8 @@
 -- ============================
 CREATE TABLE roles (
     role_id SERIAL PRIMARY KEY,
-    name VARCHAR(50) NOT NULL
+    name VARCHAR(50) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- ============================
@@ -13,10 +14,12 @@ CREATE TABLE employees (
     employee_id SERIAL PRIMARY KEY,
     first_name VARCHAR(50) NOT NULL,
     last_name VARCHAR(50) NOT NULL,
-    email VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL,
     role_id INT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_employee_role
         FOREIGN KEY (role_id)
         REFERENCES roles(role_id)
@@ -31,6 +34,8 @@ CREATE TABLE users (
     password VARCHAR(255) NOT NULL,
     employee_id INT UNIQUE NOT NULL,
     enabled BOOLEAN DEFAULT TRUE,
+    token_version INT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_user_employee
         FOREIGN KEY (employee_id)
         REFERENCES employees(employee_id)
@@ -45,7 +50,89 @@ CREATE TABLE leave_requests (
     start_date DATE NOT NULL,
     end_date DATE NOT NULL,
     status VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_leave_employee
         FOREIGN KEY (employee_id)
         REFERENCES employees(employee_id)
 );
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE leave_requests
+    ADD CONSTRAINT leave_requests_no_overlap
+    EXCLUDE USING gist (employee_id WITH =, daterange(start_date, end_date, '[]') WITH &&)
+    WHERE (status IN ('PENDING', 'APPROVED'));
+
+CREATE INDEX idx_leave_requests_employee_start ON leave_requests (employee_id, start_date);
+CREATE INDEX idx_leave_requests_status_start ON leave_requests (status, start_date);
+CREATE INDEX idx_leave_requests_dates ON leave_requests (start_date, end_date);
+CREATE INDEX idx_employees_department ON employees (department);
+CREATE INDEX idx_employees_updated_at ON employees (updated_at, employee_id);
+CREATE UNIQUE INDEX idx_employees_email_active ON employees (email) WHERE deleted_at IS NULL;
+
+
+-- ============================
+-- Import Jobs
+-- ============================
+CREATE TABLE import_jobs (
+    id SERIAL PRIMARY KEY,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    staging_file VARCHAR(255) NOT NULL,
+    submitted_by VARCHAR(50),
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    error_message VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    owner VARCHAR(100),
+    heartbeat_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_import_jobs_running ON import_jobs (heartbeat_at) WHERE status = 'RUNNING';
+
+CREATE TABLE import_job_errors (
+    id SERIAL PRIMARY KEY,
+    job_id INT NOT NULL,
+    row_number BIGINT NOT NULL,
+    row_key VARCHAR(255),
+    message VARCHAR(1000) NOT NULL,
+    CONSTRAINT fk_import_job_error_job
+        FOREIGN KEY (job_id)
+        REFERENCES import_jobs(id)
+);
+
+CREATE INDEX idx_import_job_errors_job ON import_job_errors (job_id, row_number);
+
+-- ============================
+-- Change feed outbox
+-- ============================
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    payload TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    sequence_number BIGINT,
+    published_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_outbox_events_sequence ON outbox_events (sequence_number);
+CREATE INDEX idx_outbox_events_pending ON outbox_events (id) WHERE sequence_number IS NULL;
+
+-- ============================
+-- JWT signing keys
+-- ============================
+CREATE TABLE jwt_signing_keys (
+    key_id VARCHAR(64) PRIMARY KEY,
+    secret VARCHAR(128) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_jwt_signing_keys_active ON jwt_signing_keys (active) WHERE active;
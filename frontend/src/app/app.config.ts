@@ -3,11 +3,12 @@ import { provideRouter } from '@angular/router';
 import { provideHttpClient, withInterceptors } from '@angular/common/http';
 import { routes } from './routes/app.routes';
 import { jwtInterceptor } from './core/interceptors/jwt-interceptor';
+import { etagInterceptor } from './core/interceptors/etag-interceptor';
 
 export const appConfig: ApplicationConfig = {
   providers: [
     provideRouter(routes),
     provideZoneChangeDetection({ eventCoalescing: true }),
-    provideHttpClient(withInterceptors([jwtInterceptor]))
+    provideHttpClient(withInterceptors([jwtInterceptor, etagInterceptor]))
   ]
 };
\ No newline at end of file
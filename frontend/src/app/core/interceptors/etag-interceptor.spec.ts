@@ -0,0 +1,89 @@
+import { TestBed } from '@angular/core/testing';
+import { HttpClient, provideHttpClient, withInterceptors } from '@angular/common/http';
+import { HttpTestingController, provideHttpClientTesting } from '@angular/common/http/testing';
+
+import { etagInterceptor } from './etag-interceptor';
+
+// Tags live in a module-level map, so each test uses its own resource ids
+describe('etagInterceptor', () => {
+  let http: HttpClient;
+  let httpTesting: HttpTestingController;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({
+      providers: [
+        provideHttpClient(withInterceptors([etagInterceptor])),
+        provideHttpClientTesting()
+      ]
+    });
+    http = TestBed.inject(HttpClient);
+    httpTesting = TestBed.inject(HttpTestingController);
+  });
+
+  afterEach(() => {
+    httpTesting.verify();
+  });
+
+  function read(url: string, etag: string): void {
+    http.get(url).subscribe();
+    httpTesting.expectOne(url).flush({}, { headers: { ETag: etag } });
+  }
+
+  it('sends the stored tag as If-Match on PUT and DELETE', () => {
+    read('/api/employees/1', '"3"');
+
+    http.put('/api/employees/1', {}).subscribe();
+    const put = httpTesting.expectOne('/api/employees/1');
+    expect(put.request.headers.get('If-Match')).toBe('"3"');
+    put.flush({}, { headers: { ETag: '"4"' } });
+
+    http.delete('/api/employees/1').subscribe();
+    const del = httpTesting.expectOne('/api/employees/1');
+    expect(del.request.headers.get('If-Match')).toBe('"4"');
+    del.flush(null, { status: 204, statusText: 'No Content' });
+  });
+
+  it('stores the tag of a GET and drops it after a DELETE', () => {
+    read('/api/roles/2', '"7"');
+
+    http.delete('/api/roles/2').subscribe();
+    const del = httpTesting.expectOne('/api/roles/2');
+    expect(del.request.headers.get('If-Match')).toBe('"7"');
+    del.flush(null, { status: 204, statusText: 'No Content' });
+
+    http.put('/api/roles/2', {}).subscribe();
+    const put = httpTesting.expectOne('/api/roles/2');
+    expect(put.request.headers.has('If-Match')).toBe(false);
+    put.flush({});
+  });
+
+  it('clears the tag when a write fails with 412', () => {
+    read('/api/users/3', '"1"');
+
+    http.put('/api/users/3', {}).subscribe({ error: () => undefined });
+    const stale = httpTesting.expectOne('/api/users/3');
+    expect(stale.request.headers.get('If-Match')).toBe('"1"');
+    stale.flush(null, { status: 412, statusText: 'Precondition Failed' });
+
+    http.put('/api/users/3', {}).subscribe();
+    const retry = httpTesting.expectOne('/api/users/3');
+    expect(retry.request.headers.has('If-Match')).toBe(false);
+    retry.flush({});
+  });
+
+  it('does not store tags of sub-resource reads', () => {
+    read('/api/leave-requests/4/history', '"9"');
+
+    http.put('/api/leave-requests/4', {}).subscribe();
+    const put = httpTesting.expectOne('/api/leave-requests/4');
+    expect(put.request.headers.has('If-Match')).toBe(false);
+    put.flush({});
+  });
+
+  it('leaves requests it does not track alone', () => {
+    http.put('/api/employees/bulk', {}).subscribe();
+    const put = httpTesting.expectOne('/api/employees/bulk');
+    expect(put.request.headers.has('If-Match')).toBe(false);
+    put.flush({});
+  });
+});
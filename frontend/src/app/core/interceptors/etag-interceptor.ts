@@ -0,0 +1,70 @@
+import { HttpErrorResponse, HttpInterceptorFn, HttpResponse } from '@angular/common/http';
+import { catchError, tap, throwError } from 'rxjs';
+
+// Single resources the backend tags, e.g. /api/employees/42 and its sub-paths like /42/status
+const RESOURCE_URL = /\/api\/(employees|users|roles|leave-requests)\/\d+(?=\/|\?|$)/;
+const MAX_TAGS = 500;
+
+// Last ETag seen per resource, oldest first so the map can be trimmed
+const etags = new Map<string, string>();
+
+function resourceKey(url: string): string | null {
+  const match = RESOURCE_URL.exec(url);
+  return match ? match[0] : null;
+}
+
+// Reads of sub-paths return other representations, only the resource's own tag counts
+function isResource(url: string, key: string): boolean {
+  const rest = url.substring(url.indexOf(key) + key.length);
+  return rest === '' || rest.startsWith('?');
+}
+
+function remember(key: string, etag: string): void {
+  etags.delete(key);
+  etags.set(key, etag);
+  if (etags.size > MAX_TAGS) {
+    etags.delete(etags.keys().next().value!);
+  }
+}
+
+/**
+ * Sends the ETag of the last read of a resource as If-Match when it is written,
+ * so a change made by someone else in the meantime fails with 412 instead of
+ * being overwritten. Writes to resources that were never read on their own,
+ * such as deletes from a list, go without it.
+ */
+export const etagInterceptor: HttpInterceptorFn = (req, next) => {
+  const key = resourceKey(req.url);
+  if (!key) {
+    return next(req);
+  }
+
+  const isWrite = req.method === 'PUT' || req.method === 'PATCH' || req.method === 'DELETE';
+  const etag = etags.get(key);
+  const taggedReq = isWrite && etag && !req.headers.has('If-Match')
+    ? req.clone({ setHeaders: { 'If-Match': etag } })
+    : req;
+
+  return next(taggedReq).pipe(
+    tap(event => {
+      if (!(event instanceof HttpResponse)) {
+        return;
+      }
+      const responseTag = event.headers.get('ETag');
+      if (req.method === 'DELETE') {
+        etags.delete(key);
+      } else if (responseTag && (isWrite || isResource(req.url, key))) {
+        remember(key, responseTag);
+      } else if (isWrite) {
+        // The write changed the version without telling us the new one
+        etags.delete(key);
+      }
+    }),
+    catchError((error: HttpErrorResponse) => {
+      if (error.status === 412 || error.status === 404) {
+        etags.delete(key);
+      }
+      return throwError(() => error);
+    })
+  );
+};
@@ -36,4 +36,12 @@ export interface UpdateEmployeeRequest {
   hireDate?: string;
   salary?: number;
   roleId?: number;
-}
\ No newline at end of file
+}
+
+/**
+ * One keyset page of GET /employees; nextCursor is the X-Next-Cursor header, absent on the last page
+ */
+export interface EmployeePage {
+  items: Employee[];
+  nextCursor?: number;
+}
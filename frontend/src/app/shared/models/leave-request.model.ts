@@ -45,4 +45,11 @@ export interface ApproveLeaveRequest {
 
 export interface RejectLeaveRequest {
   rejectionReason: string;
-}
\ No newline at end of file
+}
+/**
+ * One keyset page of GET /leave-requests; nextCursor is the opaque X-Next-Cursor header, absent on the last page
+ */
+export interface LeaveRequestPage {
+  items: LeaveRequest[];
+  nextCursor?: string;
+}
@@ -1,8 +1,11 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable, expand, map, reduce } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { Employee, CreateEmployeeRequest, UpdateEmployeeRequest } from '../models/employee.model';
+import { Employee, EmployeePage, CreateEmployeeRequest, UpdateEmployeeRequest } from '../models/employee.model';
+
+const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+const PAGE_SIZE = 500;
 
 @Injectable({
   providedIn: 'root'
@@ -13,10 +16,32 @@ export class EmployeeService {
   constructor(private http: HttpClient) {}
 
   /**
-   * Get all employees
+   * Get all employees, following the X-Next-Cursor header until the last page
    */
   getAllEmployees(): Observable<Employee[]> {
-    return this.http.get<Employee[]>(this.apiUrl);
+    return this.getEmployeePage().pipe(
+      expand(page => page.nextCursor != null ? this.getEmployeePage(page.nextCursor) : EMPTY),
+      reduce((employees, page) => employees.concat(page.items), [] as Employee[])
+    );
+  }
+
+  /**
+   * Get one page of employees ordered by id, starting after the cursor
+   */
+  getEmployeePage(after?: number, size: number = PAGE_SIZE): Observable<EmployeePage> {
+    let params = new HttpParams().set('size', size);
+    if (after != null) {
+      params = params.set('after', after);
+    }
+    return this.http.get<Employee[]>(this.apiUrl, { params, observe: 'response' }).pipe(
+      map(response => {
+        const nextCursor = response.headers.get(NEXT_CURSOR_HEADER);
+        return {
+          items: response.body ?? [],
+          nextCursor: nextCursor != null ? Number(nextCursor) : undefined
+        };
+      })
+    );
   }
 
   /**
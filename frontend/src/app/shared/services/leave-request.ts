@@ -1,15 +1,19 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable, expand, map, reduce } from 'rxjs';
 import { environment } from '../../../environments/environment';
 import { 
   LeaveRequest, 
   CreateLeaveRequestRequest, 
   ApproveLeaveRequest, 
   RejectLeaveRequest,
-  LeaveStatus 
+  LeaveStatus,
+  LeaveRequestPage
 } from '../models/leave-request.model';
 
+const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+const PAGE_SIZE = 500;
+
 @Injectable({
   providedIn: 'root'
 })
@@ -19,10 +23,29 @@ export class LeaveRequestService {
   constructor(private http: HttpClient) {}
 
   /**
-   * Get all leave requests
+   * Get all leave requests, following the X-Next-Cursor header until the last page
    */
   getAllLeaveRequests(): Observable<LeaveRequest[]> {
-    return this.http.get<LeaveRequest[]>(this.apiUrl);
+    return this.getLeaveRequestPage().pipe(
+      expand(page => page.nextCursor != null ? this.getLeaveRequestPage(page.nextCursor) : EMPTY),
+      reduce((leaveRequests, page) => leaveRequests.concat(page.items), [] as LeaveRequest[])
+    );
+  }
+
+  /**
+   * Get one page of leave requests, newest start date first, starting after the cursor
+   */
+  getLeaveRequestPage(after?: string, size: number = PAGE_SIZE): Observable<LeaveRequestPage> {
+    let params = new HttpParams().set('size', size);
+    if (after != null) {
+      params = params.set('after', after);
+    }
+    return this.http.get<LeaveRequest[]>(this.apiUrl, { params, observe: 'response' }).pipe(
+      map(response => ({
+        items: response.body ?? [],
+        nextCursor: response.headers.get(NEXT_CURSOR_HEADER) ?? undefined
+      }))
+    );
   }
 
   /**